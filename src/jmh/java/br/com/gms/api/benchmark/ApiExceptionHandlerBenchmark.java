@@ -0,0 +1,102 @@
+package br.com.gms.api.benchmark;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import br.com.gms.api.exception.BusinessException;
+import br.com.gms.api.exception.NotFoundException;
+import br.com.gms.api.handler.ApiExceptionHandler;
+import br.com.gms.api.model.Task;
+import br.com.gms.api.repository.InMemoryTaskRepository;
+import br.com.gms.api.service.TaskService;
+
+/**
+ * Vazão do caminho de erro sob rajadas de 404 (ids inexistentes) e 422
+ * (conclusões repetidas): lançar a exceção no serviço, tratá-la no
+ * {@link ApiExceptionHandler} e serializar o corpo. {@code depth} empilha
+ * quadros antes da chamada, como os do Tomcat e do Spring numa requisição real.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiExceptionHandlerBenchmark {
+
+    private static final int STALE_IDS = 1_024;
+
+    @Param({ "0", "120" })
+    private int depth;
+
+    private TaskService service;
+    private ApiExceptionHandler handler;
+    private ObjectMapper mapper;
+    private UUID[] staleIds;
+    private UUID completed;
+
+    @Setup
+    public void setUp() {
+        service = new TaskService(new InMemoryTaskRepository());
+        handler = new ApiExceptionHandler();
+        mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        TaskDataset.populate(service, 1_000);
+        staleIds = new UUID[STALE_IDS];
+        for (int i = 0; i < STALE_IDS; i++) {
+            staleIds[i] = UUID.randomUUID();
+        }
+        Task task = service.create(TaskDataset.createTask(0));
+        service.concludeTask(task.getId());
+        completed = task.getId();
+    }
+
+    @Benchmark
+    public byte[] notFound() throws IOException {
+        UUID id = staleIds[ThreadLocalRandom.current().nextInt(STALE_IDS)];
+        try {
+            nested(depth, () -> service.findById(id));
+        } catch (NotFoundException ex) {
+            return mapper.writeValueAsBytes(handler.handleNotFound(ex).getBody());
+        }
+        throw new IllegalStateException("Id deveria ser inexistente: " + id);
+    }
+
+    @Benchmark
+    public byte[] unprocessable() throws IOException {
+        try {
+            nested(depth, () -> {
+                service.concludeTask(completed);
+                return null;
+            });
+        } catch (BusinessException ex) {
+            return mapper.writeValueAsBytes(handler.handleBusiness(ex).getBody());
+        }
+        throw new IllegalStateException("Tarefa deveria estar concluída: " + completed);
+    }
+
+    private static <T> T nested(int depth, Supplier<T> call) {
+        return depth == 0 ? call.get() : nested(depth - 1, call);
+    }
+
+}
@@ -0,0 +1,35 @@
+package br.com.gms.api.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import br.com.gms.api.model.Task;
+import br.com.gms.api.model.valueobject.CreateTaskDTO;
+import br.com.gms.api.service.TaskService;
+
+final class TaskDataset {
+
+    static final int DISTINCT_DATES = 1_000;
+    static final LocalDateTime FIRST_DATE = LocalDateTime.now().plusYears(1).withNano(0);
+
+    private TaskDataset() {
+    }
+
+    static LocalDateTime scheduledDate(int index) {
+        return FIRST_DATE.plusMinutes(index % DISTINCT_DATES);
+    }
+
+    static CreateTaskDTO createTask(int index) {
+        return new CreateTaskDTO("Tarefa " + index, scheduledDate(index));
+    }
+
+    static List<Task> populate(TaskService service, int size) {
+        List<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tasks.add(service.create(createTask(i)));
+        }
+        return tasks;
+    }
+
+}
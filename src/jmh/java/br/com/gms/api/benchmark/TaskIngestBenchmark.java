@@ -0,0 +1,113 @@
+package br.com.gms.api.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import br.com.gms.api.exception.TaskQueueFullException;
+import br.com.gms.api.model.valueobject.CreateTaskDTO;
+import br.com.gms.api.repository.InMemoryTaskRepository;
+import br.com.gms.api.repository.wal.MappedTaskJournal;
+import br.com.gms.api.service.TaskService;
+import br.com.gms.api.service.ingest.TaskIngestPipeline;
+
+/**
+ * Vazão sustentada de criações, gravando na thread de quem chama ou pela fila
+ * de ingestão. No modo assíncrono quem chama insiste enquanto a fila está
+ * cheia, então o resultado acompanha o ritmo da escritora e não só o custo de
+ * enfileirar. Rode com várias threads, por exemplo
+ * {@code -Djmh.args="TaskIngest -t 8"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class TaskIngestBenchmark {
+
+    private static final int QUEUE_CAPACITY = 8_192;
+
+    @Param({ "sync", "async" })
+    private String mode;
+
+    @Param({ "memory", "wal" })
+    private String store;
+
+    @Param({ "1024" })
+    private int batchSize;
+
+    private Path directory;
+    private MappedTaskJournal journal;
+    private TaskService service;
+    private TaskIngestPipeline pipeline;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        InMemoryTaskRepository repository;
+        if ("wal".equals(store)) {
+            directory = Files.createTempDirectory("task-ingest-bench");
+            journal = new MappedTaskJournal(directory, DataSize.ofMegabytes(64), Duration.ofHours(1));
+            repository = new InMemoryTaskRepository(journal);
+        } else {
+            repository = new InMemoryTaskRepository();
+        }
+        service = new TaskService(repository);
+        if ("async".equals(mode)) {
+            pipeline = new TaskIngestPipeline(service, QUEUE_CAPACITY, batchSize);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws Exception {
+        if (pipeline != null) {
+            pipeline.destroy();
+            pipeline = null;
+        }
+        if (journal != null) {
+            journal.destroy();
+            journal = null;
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public Object create() {
+        CreateTaskDTO dto = TaskDataset.createTask(ThreadLocalRandom.current().nextInt(TaskDataset.DISTINCT_DATES));
+        if (pipeline == null) {
+            return service.create(dto);
+        }
+        while (true) {
+            try {
+                return pipeline.create(dto);
+            } catch (TaskQueueFullException ex) {
+                Thread.yield();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,99 @@
+package br.com.gms.api.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.gms.api.model.Task;
+import br.com.gms.api.repository.InMemoryTaskRepository;
+import br.com.gms.api.repository.TaskRepository;
+import br.com.gms.api.repository.columnar.ColumnarTaskRepository;
+import br.com.gms.api.service.TaskService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class TaskServiceBenchmark {
+
+    @Param({ "1000", "100000", "1000000", "10000000" })
+    private int size;
+
+    @Param({ "memory", "columnar" })
+    private String store;
+
+    private TaskRepository repository;
+    private TaskService service;
+    private Task[] tasks;
+    private List<Task> createdInIteration;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = "columnar".equals(store) ? new ColumnarTaskRepository() : new InMemoryTaskRepository();
+        service = new TaskService(repository);
+        tasks = TaskDataset.populate(service, size).toArray(Task[]::new);
+        createdInIteration = new ArrayList<>();
+    }
+
+    @TearDown(Level.Iteration)
+    public void removeCreatedTasks() {
+        repository.deleteAllById(createdInIteration.stream().map(Task::getId).toList());
+        createdInIteration.clear();
+    }
+
+    @Benchmark
+    public Task create() {
+        Task task = service.create(TaskDataset.createTask(size));
+        createdInIteration.add(task);
+        return task;
+    }
+
+    @Benchmark
+    public Task findById() {
+        return service.findById(randomTask().getId());
+    }
+
+    @Benchmark
+    public List<Task> findByScheduledDate() {
+        LocalDateTime scheduledDate = TaskDataset.scheduledDate(ThreadLocalRandom.current().nextInt(size));
+        return service.findByScheduledDate(scheduledDate);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10)
+    public List<Task> findAll() {
+        return service.findAll();
+    }
+
+    @Benchmark
+    public Task deleteById() {
+        Task task = randomTask();
+        service.deleteById(task.getId());
+        return repository.save(task);
+    }
+
+    private Task randomTask() {
+        return tasks[ThreadLocalRandom.current().nextInt(tasks.length)];
+    }
+
+}
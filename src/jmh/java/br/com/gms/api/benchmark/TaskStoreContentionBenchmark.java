@@ -0,0 +1,132 @@
+package br.com.gms.api.benchmark;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.gms.api.model.Task;
+import br.com.gms.api.model.valueobject.CreateTaskDTO;
+import br.com.gms.api.model.valueobject.UpdateTaskDTO;
+import br.com.gms.api.repository.InMemoryTaskRepository;
+import br.com.gms.api.repository.TaskRepository;
+import br.com.gms.api.repository.partition.PartitionedTaskRepository;
+import br.com.gms.api.service.TaskChangeLog;
+import br.com.gms.api.service.TaskChangedEvent;
+import br.com.gms.api.service.TaskService;
+import br.com.gms.api.service.due.TaskDueScheduler;
+import br.com.gms.api.service.search.TaskTextIndex;
+import br.com.gms.api.service.stats.TaskStatistics;
+
+/**
+ * Vazão de escrita sob disputa. Rode com o número de threads variando, por
+ * exemplo {@code -Djmh.args="TaskStoreContention -t 32"}, e compare as lojas.
+ * Na camada {@code service} as escritas passam por {@link TaskService} e
+ * notificam, na própria thread, os ouvintes que a aplicação registra: índice
+ * textual, estatísticas, prazos e log de alterações.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class TaskStoreContentionBenchmark {
+
+    @Param({ "1000000" })
+    private int size;
+
+    @Param({ "memory", "partitioned" })
+    private String store;
+
+    @Param({ "repository", "service" })
+    private String layer;
+
+    private TaskRepository repository;
+    private TaskService service;
+    private Task[] tasks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = "partitioned".equals(store)
+                ? new PartitionedTaskRepository(Runtime.getRuntime().availableProcessors(), 128)
+                : new InMemoryTaskRepository();
+        tasks = new Task[size];
+        for (int i = 0; i < size; i++) {
+            tasks[i] = new Task("Tarefa " + i, TaskDataset.scheduledDate(i));
+        }
+        repository.saveAll(List.of(tasks));
+
+        if ("service".equals(layer)) {
+            TaskTextIndex textIndex = new TaskTextIndex(repository);
+            TaskStatistics statistics = new TaskStatistics(repository);
+            TaskDueScheduler due = new TaskDueScheduler(repository, event -> {
+            }, Clock.systemDefaultZone(), Duration.ofSeconds(1));
+            TaskChangeLog changes = new TaskChangeLog(65536);
+            service = new TaskService(repository, event -> {
+                TaskChangedEvent changed = (TaskChangedEvent) event;
+                textIndex.onTaskChanged(changed);
+                statistics.onTaskChanged(changed);
+                due.onTaskChanged(changed);
+                changes.append(changed);
+            }, textIndex, statistics);
+        }
+    }
+
+    @Benchmark
+    public Task reschedule() {
+        // Troca a data de agendamento: mexe no mapa principal e nos índices
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Task task = tasks[random.nextInt(size)];
+        LocalDateTime scheduledDate = TaskDataset.scheduledDate(random.nextInt(size));
+        if (service != null) {
+            return service.update(task.getId(), new UpdateTaskDTO(null, scheduledDate));
+        }
+        return repository.save(Task.restore(task.getId(), task.getDescription(), scheduledDate,
+                task.getCreationDate(), random.nextBoolean(), task.getVersion()));
+    }
+
+    @Benchmark
+    public Task rename() {
+        // Troca a descrição: no serviço, reindexa o documento no índice textual
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Task task = tasks[random.nextInt(size)];
+        String description = "Tarefa " + random.nextInt(size);
+        if (service != null) {
+            return service.update(task.getId(), new UpdateTaskDTO(description, null));
+        }
+        return repository.save(Task.restore(task.getId(), description, task.getScheduledDate(),
+                task.getCreationDate(), task.getCompleted(), task.getVersion()));
+    }
+
+    @Benchmark
+    public Task create() {
+        CreateTaskDTO dto = new CreateTaskDTO("Nova tarefa",
+                TaskDataset.scheduledDate(ThreadLocalRandom.current().nextInt(size)));
+        if (service != null) {
+            Task task = service.create(dto);
+            service.deleteById(task.getId());
+            return task;
+        }
+        Task task = dto.toTask();
+        repository.save(task);
+        repository.deleteById(task.getId());
+        return task;
+    }
+
+}
@@ -0,0 +1,66 @@
+package br.com.gms.api.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.gms.api.model.Task;
+import br.com.gms.api.service.search.TaskTextIndex;
+import br.com.gms.api.service.search.TextSearchResult;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class TaskTextSearchBenchmark {
+
+    private static final String[] WORDS = { "revisar", "estudar", "contrato", "orçamento", "reunião", "deploy",
+            "relatório", "cliente", "fatura", "configuração", "migração", "testes", "documentação", "backlog" };
+
+    @Param({ "100000", "1000000" })
+    private int size;
+
+    private TaskTextIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new TaskTextIndex();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < size; i++) {
+            String description = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " do pedido " + i;
+            index.index(new Task(description, TaskDataset.scheduledDate(i)));
+        }
+    }
+
+    @Benchmark
+    public TextSearchResult selectiveTerms() {
+        return index.search("pedido " + ThreadLocalRandom.current().nextInt(size), 0, 20);
+    }
+
+    @Benchmark
+    public TextSearchResult selectivePrefix() {
+        // Prefixo com um dígito a menos que os números da faixa: ~11 expansões
+        return index.search("pedido " + ThreadLocalRandom.current().nextInt(size / 100, size / 10) + "*", 0, 20);
+    }
+
+    @Benchmark
+    public TextSearchResult twoCommonTerms() {
+        return index.search("revisar contrato", 0, 20);
+    }
+
+}
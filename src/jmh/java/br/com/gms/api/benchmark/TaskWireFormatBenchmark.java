@@ -0,0 +1,75 @@
+package br.com.gms.api.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import br.com.gms.api.controller.TaskListResponse;
+import br.com.gms.api.controller.TaskResponseDTO;
+import br.com.gms.api.controller.WireFormat;
+import br.com.gms.api.model.Task;
+import br.com.gms.api.repository.InMemoryTaskRepository;
+import br.com.gms.api.service.TaskService;
+
+/**
+ * Custo de codificar e decodificar listas de tarefas em JSON e CBOR. O tamanho
+ * de cada carga é impresso no início de cada trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class TaskWireFormatBenchmark {
+
+    @Param({ "1", "1000", "100000" })
+    private int size;
+
+    @Param({ "json", "cbor" })
+    private String format;
+
+    private ObjectMapper mapper;
+    private TaskListResponse response;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = "cbor".equals(format) ? WireFormat.cborMapper()
+                : Jackson2ObjectMapperBuilder.json()
+                        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                        .build();
+        List<Task> tasks = TaskDataset.populate(new TaskService(new InMemoryTaskRepository()), size);
+        response = new TaskListResponse(tasks);
+        encoded = mapper.writeValueAsBytes(response);
+        System.out.printf("%n%s, %d tarefas: %d bytes (%.1f por tarefa)%n", format, size, encoded.length,
+                (double) encoded.length / size);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public TaskResponseDTO[] decode() throws IOException {
+        return mapper.readValue(encoded, TaskResponseDTO[].class);
+    }
+
+}
@@ -0,0 +1,218 @@
+package br.com.gms.api.benchmark.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+import br.com.gms.api.ApiApplication;
+
+/**
+ * Sobe a API em processo, uma vez com o pool de threads de plataforma do Tomcat e outra com threads
+ * virtuais, e dispara leituras concorrentes contra cada modo.
+ *
+ * <pre>
+ * ./mvnw -Pjmh test-compile exec:exec -Dbench.main=br.com.gms.api.benchmark.load.TaskLoadTest \
+ *     -Dbench.args="--concurrency=1000,10000,50000 --duration=30 --spring.profiles.active=jpa"
+ * </pre>
+ *
+ * Para listas grandes, {@code --path=/tasks/by-scheduled-date?day={day}} lê todas as tarefas
+ * criadas; {@code --http=2} troca o cliente para HTTP/2 e {@code --gzip} pede respostas comprimidas:
+ *
+ * <pre>
+ * ./mvnw -Pjmh test-compile exec:exec -Dbench.main=br.com.gms.api.benchmark.load.TaskLoadTest \
+ *     -Dbench.args="--modes=platform --tasks=10000 --path=/tasks/by-scheduled-date?day={day} --http=2 --gzip"
+ * </pre>
+ *
+ * Argumentos que não são do teste de carga são repassados para a aplicação.
+ */
+public class TaskLoadTest {
+
+    private static final int SEED_BATCH_SIZE = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        LoadOptions options = LoadOptions.parse(args);
+
+        List<String> report = new ArrayList<>();
+        for (String mode : options.modes()) {
+            try (ConfigurableApplicationContext context = start(mode, options.applicationArgs())) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                URI base = URI.create("http://localhost:" + port);
+                List<UUID> ids = seed(base, options.tasks(), options.day());
+
+                for (int concurrency : options.concurrency()) {
+                    run(base, ids, Math.min(concurrency, 1_000), Duration.ofSeconds(5), options);
+                    LoadResult result = run(base, ids, concurrency, options.duration(), options);
+                    report.add(result.format(mode, concurrency));
+                }
+            }
+        }
+
+        System.out.println();
+        System.out.println(LoadResult.HEADER);
+        report.forEach(System.out::println);
+    }
+
+    private static ConfigurableApplicationContext start(String mode, List<String> applicationArgs) {
+        List<String> args = new ArrayList<>(applicationArgs);
+        args.add("--server.port=0");
+        args.add("--spring.threads.virtual.enabled=" + "virtual".equals(mode));
+        return SpringApplication.run(ApiApplication.class, args.toArray(String[]::new));
+    }
+
+    /**
+     * Cria as tarefas em lotes, todas agendadas no mesmo dia, para que
+     * {@code --path=/tasks/by-scheduled-date?day={day}} devolva a lista inteira.
+     */
+    private static List<UUID> seed(URI base, int tasks, LocalDate day) throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        // Com HTTP/2, o cliente tentaria o upgrade h2c já no POST, e o Tomcat recusa
+        // corpos maiores que maxSavePostSize durante o upgrade
+        try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+            List<UUID> ids = new ArrayList<>(tasks);
+            for (int first = 0; first < tasks; first += SEED_BATCH_SIZE) {
+                ArrayNode batch = mapper.createArrayNode();
+                for (int i = first; i < Math.min(tasks, first + SEED_BATCH_SIZE); i++) {
+                    batch.addObject()
+                            .put("description", "Tarefa " + i)
+                            .put("scheduledDate", day.atStartOfDay().plusSeconds(i % 86_400).toString());
+                }
+                HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(base.resolve("/tasks/batch"))
+                        .header("Content-Type", "application/json")
+                        .header("Accept", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(batch)))
+                        .build(), HttpResponse.BodyHandlers.ofByteArray());
+                if (response.statusCode() != 200) {
+                    throw new IllegalStateException("Falha ao criar tarefas: HTTP " + response.statusCode() + " "
+                            + new String(response.body(), StandardCharsets.UTF_8));
+                }
+                for (JsonNode item : mapper.readTree(response.body())) {
+                    ids.add(UUID.fromString(item.get("id").asText()));
+                }
+            }
+            return ids;
+        }
+    }
+
+    static LoadResult run(URI base, List<UUID> ids, int concurrency, Duration duration, LoadOptions options)
+            throws InterruptedException {
+        Histogram latencies = new ConcurrentHistogram(TimeUnit.SECONDS.toNanos(60), 3);
+        LongAdder errors = new LongAdder();
+        LongAdder bytes = new LongAdder();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (HttpClient client = HttpClient.newBuilder().version(options.version()).build();
+                ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        URI uri = options.path() == null
+                                ? base.resolve("/tasks/" + ids.get(ThreadLocalRandom.current().nextInt(ids.size())))
+                                : base.resolve(options.path().replace("{day}", options.day().toString()));
+                        HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30));
+                        if (options.gzip()) {
+                            // O corpo chega comprimido, então bytes/req passa a medir o que trafega na rede
+                            request.header("Accept-Encoding", "gzip");
+                        }
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<byte[]> response = client.send(request.build(),
+                                    HttpResponse.BodyHandlers.ofByteArray());
+                            latencies.recordValue(System.nanoTime() - start);
+                            bytes.add(response.body().length);
+                            if (response.statusCode() >= 400) {
+                                errors.increment();
+                            }
+                        } catch (Exception ex) {
+                            errors.increment();
+                        }
+                    }
+                });
+            }
+        }
+
+        return new LoadResult(latencies, errors.sum(), bytes.sum(), duration);
+    }
+
+    record LoadResult(Histogram latencies, long errors, long bytes, Duration duration) {
+
+        static final String HEADER = "%-8s %12s %12s %10s %10s %10s %10s %14s".formatted("mode", "concurrency",
+                "req/s", "p50 ms", "p99 ms", "p999 ms", "errors", "bytes/req");
+
+        String format(String mode, int concurrency) {
+            long requests = latencies.getTotalCount();
+            return "%-8s %12d %12.0f %10.2f %10.2f %10.2f %10d %14.0f".formatted(mode, concurrency,
+                    requests / (double) duration.toSeconds(), millis(50), millis(99), millis(99.9), errors,
+                    requests == 0 ? 0 : bytes / (double) requests);
+        }
+
+        private double millis(double percentile) {
+            return latencies.getValueAtPercentile(percentile) / 1_000_000.0;
+        }
+
+    }
+
+    record LoadOptions(List<String> modes, int[] concurrency, Duration duration, int tasks, String path,
+            HttpClient.Version version, boolean gzip, LocalDate day, List<String> applicationArgs) {
+
+        static LoadOptions parse(String[] args) {
+            List<String> modes = List.of("platform", "virtual");
+            int[] concurrency = { 1_000, 10_000, 50_000 };
+            Duration duration = Duration.ofSeconds(30);
+            int tasks = 10_000;
+            String path = null;
+            HttpClient.Version version = HttpClient.Version.HTTP_1_1;
+            boolean gzip = false;
+            List<String> applicationArgs = new ArrayList<>();
+
+            for (String arg : args) {
+                String value = arg.substring(arg.indexOf('=') + 1);
+                if (arg.startsWith("--modes=")) {
+                    modes = List.of(value.split(","));
+                } else if (arg.startsWith("--concurrency=")) {
+                    concurrency = Arrays.stream(value.split(",")).mapToInt(Integer::parseInt).toArray();
+                } else if (arg.startsWith("--duration=")) {
+                    duration = Duration.ofSeconds(Long.parseLong(value));
+                } else if (arg.startsWith("--tasks=")) {
+                    tasks = Integer.parseInt(value);
+                } else if (arg.startsWith("--path=")) {
+                    path = value;
+                } else if (arg.startsWith("--http=")) {
+                    // HTTP/2 sem TLS (h2c), negociado pelo upgrade do HTTP/1.1
+                    version = "2".equals(value) ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1;
+                } else if (arg.equals("--gzip")) {
+                    gzip = true;
+                } else {
+                    applicationArgs.add(arg);
+                }
+            }
+            return new LoadOptions(modes, concurrency, duration, tasks, path, version, gzip,
+                    LocalDate.now().plusDays(1), applicationArgs);
+        }
+
+    }
+
+}
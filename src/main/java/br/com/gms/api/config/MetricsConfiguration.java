@@ -0,0 +1,53 @@
+package br.com.gms.api.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfiguration {
+
+    @Bean
+    TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "api.metrics.latency-histogram.enabled", havingValue = "true")
+    MeterFilter latencyHistogramFilter() {
+        return new MeterFilter() {
+
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!isTaskLatency(id)) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentiles(0.5, 0.99, 0.999)
+                        .percentilePrecision(2)
+                        .expiry(Duration.ofMinutes(1))
+                        .bufferLength(3)
+                        .build()
+                        .merge(config);
+            }
+
+        };
+    }
+
+    private static boolean isTaskLatency(Meter.Id id) {
+        if ("tasks.service".equals(id.getName())) {
+            return true;
+        }
+        String uri = id.getTag("uri");
+        return "http.server.requests".equals(id.getName()) && uri != null && uri.startsWith("/tasks");
+    }
+
+}
@@ -0,0 +1,27 @@
+package br.com.gms.api.config;
+
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import br.com.gms.api.controller.WireFormat;
+
+@Configuration(proxyBeanMethods = false)
+public class WebConfiguration implements WebMvcConfigurer {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        // Substitui o conversor CBOR padrão, que gravaria datas como arrays
+        return new MappingJackson2CborHttpMessageConverter(WireFormat.cborMapper());
+    }
+
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        // Aceita "scheduledDate" ou "desc" em parâmetros enum, como nas propriedades do Boot
+        ApplicationConversionService.addApplicationConverters(registry);
+    }
+
+}
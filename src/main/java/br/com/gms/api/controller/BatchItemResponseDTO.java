@@ -0,0 +1,21 @@
+package br.com.gms.api.controller;
+
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+
+import br.com.gms.api.model.valueobject.BatchItemResult;
+
+public record BatchItemResponseDTO(int index, UUID id, int status, String message) {
+
+    public static BatchItemResponseDTO from(BatchItemResult result) {
+        HttpStatus status = switch (result.status()) {
+            case OK -> HttpStatus.OK;
+            case NOT_FOUND -> HttpStatus.NOT_FOUND;
+            case UNPROCESSABLE -> HttpStatus.UNPROCESSABLE_ENTITY;
+            case CONFLICT -> HttpStatus.CONFLICT;
+        };
+        return new BatchItemResponseDTO(result.index(), result.id(), status.value(), result.message());
+    }
+
+}
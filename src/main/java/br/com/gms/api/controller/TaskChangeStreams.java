@@ -0,0 +1,147 @@
+package br.com.gms.api.controller;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import br.com.gms.api.service.TaskChangeLog;
+import br.com.gms.api.service.TaskChangeLog.Change;
+import br.com.gms.api.service.TaskChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Component
+public class TaskChangeStreams implements MeterBinder, DisposableBean {
+
+    private static final long HEARTBEAT_NANOS = TimeUnit.SECONDS.toNanos(15);
+
+    private final TaskChangeLog log;
+    private final Duration timeout;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    public TaskChangeStreams(TaskChangeLog log, @Value("${api.task.changes.timeout:30m}") Duration timeout) {
+        this.log = log;
+        this.timeout = timeout;
+    }
+
+    public SseEmitter subscribe(Long lastEventId) {
+        long head = log.head();
+        long start = lastEventId == null ? head : Math.min(lastEventId + 1, head);
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscription subscription = new Subscription(emitter, start);
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(ex -> subscription.close());
+        subscriptions.add(subscription);
+        Thread.ofVirtual().name("task-changes-" + start).start(subscription);
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tasks.changes.subscribers", this, TaskChangeStreams::subscriberCount).register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+    }
+
+    private final class Subscription implements Runnable {
+
+        private final SseEmitter emitter;
+        private volatile boolean closed;
+        private volatile Thread thread;
+        private long cursor;
+        private long lastSent = System.nanoTime();
+
+        private Subscription(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        @Override
+        public void run() {
+            thread = Thread.currentThread();
+            Runnable wakeUp = () -> LockSupport.unpark(thread);
+            log.addListener(wakeUp);
+            try {
+                while (!closed) {
+                    drain();
+                    if (System.nanoTime() - lastSent >= HEARTBEAT_NANOS) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                        lastSent = System.nanoTime();
+                    }
+                    LockSupport.parkNanos(HEARTBEAT_NANOS);
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // Cliente desconectou ou o emitter já foi encerrado
+                emitter.complete();
+            } finally {
+                log.removeListener(wakeUp);
+                subscriptions.remove(this);
+            }
+        }
+
+        private void drain() throws IOException {
+            while (!closed) {
+                long oldest = log.oldest();
+                if (cursor < oldest) {
+                    // Eventos perdidos: o cliente deve recarregar a lista
+                    emitter.send(SseEmitter.event().id(Long.toString(oldest - 1)).name("reset")
+                            .data(new TaskChangeDTO(oldest - 1, "RESET", null, null), MediaType.APPLICATION_JSON));
+                    cursor = oldest;
+                }
+                Change change = log.read(cursor);
+                if (change == null) {
+                    return;
+                }
+                if (change.sequence() == cursor) {
+                    send(change);
+                    cursor++;
+                }
+            }
+        }
+
+        private void send(Change change) throws IOException {
+            TaskChangedEvent event = change.event();
+            String type = event.type().name();
+            emitter.send(SseEmitter.event()
+                    .id(Long.toString(change.sequence()))
+                    .name(type.toLowerCase(Locale.ROOT))
+                    .data(new TaskChangeDTO(change.sequence(), type, event.id(),
+                            event.current() == null ? null : TaskResponseDTO.from(event.current())),
+                            MediaType.APPLICATION_JSON));
+            lastSent = System.nanoTime();
+        }
+
+        private void close() {
+            closed = true;
+            Thread current = thread;
+            if (current != null) {
+                LockSupport.unpark(current);
+            }
+        }
+
+    }
+
+    public record TaskChangeDTO(long sequence, String type, UUID id, TaskResponseDTO task) {
+    }
+
+}
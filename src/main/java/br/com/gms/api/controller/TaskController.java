@@ -1,12 +1,20 @@
 package br.com.gms.api.controller;
 
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -14,38 +22,116 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.gms.api.controller.TaskResponseCache.CachedResponse;
+import br.com.gms.api.exception.TaskConflictException;
 import br.com.gms.api.model.Task;
+import br.com.gms.api.model.valueobject.BatchItemResult;
+import br.com.gms.api.model.valueobject.BatchUpdateTaskDTO;
 import br.com.gms.api.model.valueobject.CreateTaskDTO;
+import br.com.gms.api.model.valueobject.TaskFilter;
+import br.com.gms.api.model.valueobject.TaskStats;
 import br.com.gms.api.model.valueobject.UpdateTaskDTO;
 import br.com.gms.api.service.TaskService;
+import br.com.gms.api.service.ingest.TaskCommandStatus;
+import br.com.gms.api.service.ingest.TaskIngestPipeline;
 import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping(path = "/tasks")
 public class TaskController {
 
+    static final String NDJSON_VALUE = "application/x-ndjson";
+    static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int STREAM_PAGE_SIZE = 500;
+    private static final int DEFAULT_SEARCH_SIZE = 20;
+
+    private static final String GZIP_ETAG_SUFFIX = "-gzip";
+    private static final String INSTANCE_TAG = Long.toHexString(ThreadLocalRandom.current().nextLong());
+
     private final TaskService service;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper cborMapper;
+    private final TaskResponseCache cache;
+    private final TaskChangeStreams changes;
+    // Nulo quando a ingestão assíncrona está desligada (api.task.ingest.async)
+    private final TaskIngestPipeline ingest;
 
-    public TaskController(TaskService service) {
+    public TaskController(TaskService service, ObjectMapper objectMapper,
+            MappingJackson2CborHttpMessageConverter cbor, TaskResponseCache cache, TaskChangeStreams changes,
+            ObjectProvider<TaskIngestPipeline> ingest) {
         this.service = service;
+        this.objectMapper = objectMapper;
+        this.cborMapper = cbor.getObjectMapper();
+        this.cache = cache;
+        this.changes = changes;
+        this.ingest = ingest.getIfAvailable();
     }
 
     @PostMapping
-    public ResponseEntity<Void> create(@RequestBody @Valid CreateTaskDTO payload) {
+    public ResponseEntity<TaskCommandStatus> create(@RequestBody @Valid CreateTaskDTO payload) {
+        if (ingest != null) {
+            TaskCommandStatus status = ingest.create(payload);
+            return accepted(status).location(URI.create("/tasks/" + status.taskId())).body(status);
+        }
         Task task = service.create(payload);
         URI uri = URI.create("/tasks/" + task.getId());
 
         return ResponseEntity.created(uri).build();
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResponseDTO>> createAll(@RequestBody List<CreateTaskDTO> payload) {
+        return ResponseEntity.ok(toResponse(service.createAll(payload)));
+    }
+
+    @PutMapping("/batch")
+    public ResponseEntity<List<BatchItemResponseDTO>> updateAll(@RequestBody List<BatchUpdateTaskDTO> payload) {
+        return ResponseEntity.ok(toResponse(service.updateAll(payload)));
+    }
+
+    @PatchMapping("/batch/conclude")
+    public ResponseEntity<List<BatchItemResponseDTO>> concludeAll(@RequestBody List<UUID> ids) {
+        return ResponseEntity.ok(toResponse(service.concludeAll(ids)));
+    }
+
+    @PatchMapping("/batch/reopen")
+    public ResponseEntity<List<BatchItemResponseDTO>> reopenAll(@RequestBody List<UUID> ids) {
+        return ResponseEntity.ok(toResponse(service.reopenAll(ids)));
+    }
+
+    @PostMapping("/batch/delete")
+    public ResponseEntity<List<BatchItemResponseDTO>> deleteAll(@RequestBody List<UUID> ids) {
+        return ResponseEntity.ok(toResponse(service.deleteAll(ids)));
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<Void> update(@PathVariable UUID id, @RequestBody @Valid UpdateTaskDTO payload) {
-        service.update(id, payload);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<TaskCommandStatus> update(@PathVariable UUID id,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestBody @Valid UpdateTaskDTO payload) {
+        // Com If-Match o cliente precisa saber na hora se a pré-condição valeu,
+        // então alterações condicionais seguem pelo caminho síncrono
+        if (ingest != null && ifMatch == null) {
+            TaskCommandStatus status = ingest.update(id, payload);
+            return accepted(status).body(status);
+        }
+        Task task = service.update(id, expectedVersion(id, ifMatch), payload);
+        return ResponseEntity.noContent().eTag(taskETag(task, WireFormat.negotiate(accept))).build();
     }
 
     @PatchMapping("/{id}/conclude")
@@ -61,21 +147,129 @@ public class TaskController {
     }
 
     @GetMapping
-    public ResponseEntity<List<TaskResponseDTO>> findAll() {
-        List<TaskResponseDTO> list = service.findAll().stream().map(TaskResponseDTO::from).toList();
-        return ResponseEntity.ok(list);
+    public ResponseEntity<byte[]> findAll(@RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) UUID after, WebRequest request) {
+        WireFormat format = WireFormat.negotiate(request.getHeader(HttpHeaders.ACCEPT));
+        String etag = collectionETag(format);
+        if (unchanged(request, etag)) {
+            return notModified();
+        }
+
+        if (limit == null && after == null) {
+            return respond(cache.get(TaskResponseCache.collection(etag, format),
+                    () -> toCachedResponse(format, etag, service.findAll())), format, request);
+        }
+
+        // Cada página leva o próprio link para a seguinte, então não vai para o cache
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        List<Task> page = service.findPage(after, pageSize);
+        HttpHeaders headers = new HttpHeaders();
+        if (page.size() == pageSize) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("limit", pageSize)
+                    .replaceQueryParam("after", page.get(page.size() - 1).getId())
+                    .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return respond(cache.compress(toCachedResponse(format, etag, page)), format, request, headers);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<byte[]> search(TaskFilter filter, WebRequest request) {
+        WireFormat format = WireFormat.negotiate(request.getHeader(HttpHeaders.ACCEPT));
+        String etag = collectionETag(format);
+        if (unchanged(request, etag)) {
+            return notModified();
+        }
+        return respond(cache.get(TaskResponseCache.search(etag, format, filter),
+                () -> toCachedResponse(format, etag, service.search(filter))), format, request);
+    }
+
+    @GetMapping("/search/text")
+    public ResponseEntity<TaskSearchResponseDTO> searchText(@RequestParam String q,
+            @RequestParam(defaultValue = "0") int offset, @RequestParam(required = false) Integer limit) {
+        int pageSize = limit == null ? DEFAULT_SEARCH_SIZE : limit;
+        return ResponseEntity.ok(TaskSearchResponseDTO.from(service.searchText(q, offset, pageSize)));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStats> statistics(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(service.statistics(from, to));
+    }
+
+    @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter changes(@RequestHeader(name = LAST_EVENT_ID, required = false) Long lastEventId,
+            @RequestParam(required = false) Long since) {
+        return changes.subscribe(lastEventId != null ? lastEventId : since);
+    }
+
+    @GetMapping(path = "/stream", produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream() {
+        StreamingResponseBody body = output -> {
+            JsonGenerator generator = objectMapper.createGenerator(output).setRootValueSeparator(null);
+            TaskJsonWriter writer = new TaskJsonWriter();
+            List<Task> page = service.findPage(null, STREAM_PAGE_SIZE);
+            while (!page.isEmpty()) {
+                for (Task task : page) {
+                    writer.write(generator, task);
+                    generator.writeRaw('\n');
+                }
+                generator.flush();
+                if (page.size() < STREAM_PAGE_SIZE) {
+                    break;
+                }
+                page = service.findPage(page.get(page.size() - 1).getId(), STREAM_PAGE_SIZE);
+            }
+            generator.close();
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON_VALUE)).body(body);
+    }
+
+    @GetMapping("/commands/{command}")
+    public ResponseEntity<TaskCommandStatus> commandStatus(@PathVariable long command) {
+        // Sem ingestão assíncrona, ou já sobrescrito por comandos mais novos
+        return ingest == null ? ResponseEntity.notFound().build() : ResponseEntity.of(ingest.status(command));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TaskResponseDTO> findById(@PathVariable UUID id) {
-        return ResponseEntity.ok(TaskResponseDTO.from(service.findById(id)));
+    public ResponseEntity<byte[]> findById(@PathVariable UUID id, WebRequest request) {
+        WireFormat format = WireFormat.negotiate(request.getHeader(HttpHeaders.ACCEPT));
+        CachedResponse response = cache.get(TaskResponseCache.byId(id, format), () -> {
+            Task task = service.findById(id);
+            return new CachedResponse(encode(format, TaskResponseDTO.from(task)), taskETag(task, format));
+        });
+        return respond(response, format, request);
     }
 
     @GetMapping("/by-scheduled-date")
-    public ResponseEntity<List<TaskResponseDTO>> findByScheduledDate(
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime scheduledDate) {
-        return ResponseEntity
-                .ok(service.findByScheduledDate(scheduledDate).stream().map(TaskResponseDTO::from).toList());
+    public ResponseEntity<byte[]> findByScheduledDate(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime scheduledDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day,
+            WebRequest request) {
+        WireFormat format = WireFormat.negotiate(request.getHeader(HttpHeaders.ACCEPT));
+        if (day != null) {
+            return respond(cache.get(TaskResponseCache.byDay(day, format),
+                    () -> toCachedResponse(format, collectionETag(format), service.findByScheduledDay(day))),
+                    format, request);
+        }
+        if (from == null && to == null) {
+            return respond(cache.get(TaskResponseCache.byScheduledDate(scheduledDate, format),
+                    () -> toCachedResponse(format, collectionETag(format),
+                            service.findByScheduledDate(scheduledDate))),
+                    format, request);
+        }
+
+        String etag = collectionETag(format);
+        if (unchanged(request, etag)) {
+            return notModified();
+        }
+        return respond(cache.get(TaskResponseCache.byScheduledRange(etag, format, from, to),
+                () -> toCachedResponse(format, etag, service.findByScheduledDateBetween(from, to))),
+                format, request);
     }
 
     @DeleteMapping("/{id}")
@@ -84,4 +278,127 @@ public class TaskController {
         return ResponseEntity.noContent().build();
     }
 
+    private ResponseEntity<byte[]> respond(CachedResponse response, WireFormat format, WebRequest request) {
+        return respond(response, format, request, HttpHeaders.EMPTY);
+    }
+
+    private ResponseEntity<byte[]> respond(CachedResponse response, WireFormat format, WebRequest request,
+            HttpHeaders headers) {
+        // A representação gzip tem bytes diferentes, então leva um ETag forte
+        // próprio; um ETag fraco seria recusado pelo If-Match das alterações
+        boolean gzip = response.gzipped() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzip ? gzipETag(response.etag()) : response.etag();
+        if (request.checkNotModified(etag)) {
+            return notModified();
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(format.mediaType())
+                .headers(headers)
+                .eTag(etag);
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(response.gzipped());
+        }
+        return builder.body(response.body());
+    }
+
+    /**
+     * Confere a ETag da coleção antes de carregá-la, aceitando tanto a da
+     * representação plana quanto a da comprimida que o cliente tenha guardado.
+     */
+    private static boolean unchanged(WebRequest request, String etag) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String gzipped = gzipETag(etag);
+        String candidate = ifNoneMatch.contains(gzipped) && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))
+                ? gzipped : etag;
+        // Só consulta quando vai casar: sem casar, o checkNotModified já grava
+        // a ETag na resposta e ela sairia em dobro ao lado da de respond
+        return (ifNoneMatch.contains(candidate) || ifNoneMatch.strip().equals("*"))
+                && request.checkNotModified(candidate);
+    }
+
+    private static ResponseEntity<byte[]> notModified() {
+        // O checkNotModified já gravou status e ETag; o 304 repete o Vary do 200
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .build();
+    }
+
+    private static String gzipETag(String etag) {
+        return etag.substring(0, etag.length() - 1) + GZIP_ETAG_SUFFIX + "\"";
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (parts[0].strip().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].strip().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private CachedResponse toCachedResponse(WireFormat format, String etag, List<Task> tasks) {
+        return new CachedResponse(encode(format, new TaskListResponse(tasks)), etag);
+    }
+
+    private byte[] encode(WireFormat format, Object body) {
+        try {
+            return (format == WireFormat.CBOR ? cborMapper : objectMapper).writeValueAsBytes(body);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private String taskETag(Task task, WireFormat format) {
+        return "\"" + task.getId() + "-" + task.getVersion() + format.etagSuffix() + "\"";
+    }
+
+    private Long expectedVersion(UUID id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals("*")) {
+            return null;
+        }
+
+        String etag = ifMatch.strip();
+        if (etag.endsWith(GZIP_ETAG_SUFFIX + "\"")) {
+            // Mesma versão da tarefa, só que na representação comprimida
+            etag = etag.substring(0, etag.length() - GZIP_ETAG_SUFFIX.length() - 1) + "\"";
+        }
+        for (WireFormat format : WireFormat.values()) {
+            // Idem para a representação em outro formato
+            String suffix = format.etagSuffix() + "\"";
+            if (!format.etagSuffix().isEmpty() && etag.endsWith(suffix)) {
+                etag = etag.substring(0, etag.length() - suffix.length()) + "\"";
+            }
+        }
+        String prefix = "\"" + id + "-";
+        if (!etag.startsWith(prefix) || !etag.endsWith("\"") || etag.length() <= prefix.length() + 1) {
+            throw new TaskConflictException(id);
+        }
+        try {
+            return Long.parseLong(etag.substring(prefix.length(), etag.length() - 1));
+        } catch (NumberFormatException ex) {
+            throw new TaskConflictException(id);
+        }
+    }
+
+    private String collectionETag(WireFormat format) {
+        return "\"" + INSTANCE_TAG + "-" + service.modificationCount() + format.etagSuffix() + "\"";
+    }
+
+    private static ResponseEntity.BodyBuilder accepted(TaskCommandStatus status) {
+        return ResponseEntity.accepted()
+                .header(HttpHeaders.CONTENT_LOCATION, "/tasks/commands/" + status.command());
+    }
+
+    private List<BatchItemResponseDTO> toResponse(List<BatchItemResult> results) {
+        return results.stream().map(BatchItemResponseDTO::from).toList();
+    }
+
 }
@@ -0,0 +1,127 @@
+package br.com.gms.api.controller;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.UUID;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import br.com.gms.api.model.Task;
+
+public final class TaskJsonWriter {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString SCHEDULED_DATE = new SerializedString("scheduledDate");
+    private static final SerializedString CREATION_DATE = new SerializedString("creationDate");
+    private static final SerializedString COMPLETED = new SerializedString("completed");
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final int DATE_PREFIX = "yyyy-MM-ddT".length();
+
+    private final char[] buffer = new char[64];
+    private long cachedDay = Long.MIN_VALUE;
+    private final char[] cachedDate = new char[DATE_PREFIX];
+
+    public void writeArray(JsonGenerator generator, Collection<Task> tasks) throws IOException {
+        generator.writeStartArray(tasks, tasks.size());
+        for (Task task : tasks) {
+            write(generator, task);
+        }
+        generator.writeEndArray();
+    }
+
+    public void write(JsonGenerator generator, Task task) throws IOException {
+        generator.writeStartObject(task);
+        generator.writeFieldName(ID);
+        writeId(generator, task.getId());
+        generator.writeFieldName(DESCRIPTION);
+        generator.writeString(task.getDescription());
+        generator.writeFieldName(SCHEDULED_DATE);
+        writeDate(generator, task.getScheduledDate());
+        generator.writeFieldName(CREATION_DATE);
+        writeDate(generator, task.getCreationDate());
+        generator.writeFieldName(COMPLETED);
+        if (task.getCompleted() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeBoolean(task.getCompleted());
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeId(JsonGenerator generator, UUID id) throws IOException {
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        hex(msb >>> 32, 8, 0);
+        buffer[8] = '-';
+        hex(msb >>> 16, 4, 9);
+        buffer[13] = '-';
+        hex(msb, 4, 14);
+        buffer[18] = '-';
+        hex(lsb >>> 48, 4, 19);
+        buffer[23] = '-';
+        hex(lsb, 12, 24);
+        generator.writeString(buffer, 0, 36);
+    }
+
+    private void hex(long value, int digits, int offset) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            buffer[i] = HEX[(int) value & 0xf];
+            value >>>= 4;
+        }
+    }
+
+    private void writeDate(JsonGenerator generator, LocalDateTime date) throws IOException {
+        if (date == null) {
+            generator.writeNull();
+            return;
+        }
+        if (date.getYear() < 0 || date.getYear() > 9999) {
+            generator.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(date));
+            return;
+        }
+
+        long day = date.toLocalDate().toEpochDay();
+        if (day != cachedDay) {
+            digits(date.getYear(), 4, cachedDate, 0);
+            cachedDate[4] = '-';
+            digits(date.getMonthValue(), 2, cachedDate, 5);
+            cachedDate[7] = '-';
+            digits(date.getDayOfMonth(), 2, cachedDate, 8);
+            cachedDate[10] = 'T';
+            cachedDay = day;
+        }
+
+        System.arraycopy(cachedDate, 0, buffer, 0, DATE_PREFIX);
+        int length = DATE_PREFIX;
+        digits(date.getHour(), 2, buffer, length);
+        buffer[length + 2] = ':';
+        digits(date.getMinute(), 2, buffer, length + 3);
+        buffer[length + 5] = ':';
+        digits(date.getSecond(), 2, buffer, length + 6);
+        length += 8;
+
+        int nano = date.getNano();
+        if (nano != 0) {
+            buffer[length++] = '.';
+            digits(nano, 9, buffer, length);
+            length += 9;
+            while (buffer[length - 1] == '0') {
+                length--;
+            }
+        }
+        generator.writeString(buffer, 0, length);
+    }
+
+    private static void digits(int value, int width, char[] target, int offset) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            target[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+}
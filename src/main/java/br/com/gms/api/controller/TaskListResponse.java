@@ -0,0 +1,35 @@
+package br.com.gms.api.controller;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import br.com.gms.api.model.Task;
+
+@JsonSerialize(using = TaskListResponse.Serializer.class)
+public record TaskListResponse(List<Task> tasks) {
+
+    static final class Serializer extends StdSerializer<TaskListResponse> {
+
+        Serializer() {
+            super(TaskListResponse.class);
+        }
+
+        @Override
+        public void serialize(TaskListResponse value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+                provider.defaultSerializeValue(value.tasks().stream().map(TaskResponseDTO::from).toList(), generator);
+                return;
+            }
+            new TaskJsonWriter().writeArray(generator, value.tasks());
+        }
+
+    }
+
+}
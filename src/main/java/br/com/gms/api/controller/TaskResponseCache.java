@@ -0,0 +1,173 @@
+package br.com.gms.api.controller;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.com.gms.api.model.Task;
+import br.com.gms.api.model.valueobject.TaskFilter;
+import br.com.gms.api.service.TaskChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Component
+public class TaskResponseCache implements MeterBinder {
+
+    private final Cache<Object, CachedResponse> cache;
+    private final long compressionThreshold;
+
+    public TaskResponseCache(boolean enabled, DataSize maxSize, Duration ttl) {
+        this(enabled, maxSize, ttl, false, DataSize.ofBytes(0));
+    }
+
+    @Autowired
+    public TaskResponseCache(@Value("${api.cache.tasks.enabled:true}") boolean enabled,
+            @Value("${api.cache.tasks.max-size:64MB}") DataSize maxSize,
+            @Value("${api.cache.tasks.ttl:30s}") Duration ttl,
+            @Value("${server.compression.enabled:false}") boolean compression,
+            @Value("${server.compression.min-response-size:2KB}") DataSize compressionThreshold) {
+        this.cache = !enabled ? null
+                : Caffeine.newBuilder()
+                        .maximumWeight(maxSize.toBytes())
+                        .<Object, CachedResponse>weigher((key, response) -> response.weight())
+                        .expireAfterWrite(ttl)
+                        .recordStats()
+                        .build();
+        this.compressionThreshold = compression ? compressionThreshold.toBytes() : Long.MAX_VALUE;
+    }
+
+    static Object byId(UUID id) {
+        return byId(id, WireFormat.JSON);
+    }
+
+    static Object byId(UUID id, WireFormat format) {
+        return new ById(id, format);
+    }
+
+    static Object byScheduledDate(LocalDateTime scheduledDate) {
+        return byScheduledDate(scheduledDate, WireFormat.JSON);
+    }
+
+    static Object byScheduledDate(LocalDateTime scheduledDate, WireFormat format) {
+        return new ByScheduledDate(scheduledDate, format);
+    }
+
+    static Object byDay(LocalDate day) {
+        return byDay(day, WireFormat.JSON);
+    }
+
+    static Object byDay(LocalDate day, WireFormat format) {
+        return new ByDay(day, format);
+    }
+
+    /**
+     * Chave de uma listagem: como a ETag da coleção muda a cada escrita, uma
+     * entrada antiga nunca volta a ser lida e sai por TTL ou peso.
+     */
+    static Object collection(String etag, WireFormat format) {
+        return new ForCollection(etag, format, null);
+    }
+
+    static Object search(String etag, WireFormat format, TaskFilter filter) {
+        return new ForCollection(etag, format, filter);
+    }
+
+    static Object byScheduledRange(String etag, WireFormat format, LocalDateTime from, LocalDateTime to) {
+        return new ForCollection(etag, format, new ScheduledRange(from, to));
+    }
+
+    CachedResponse get(Object key, Supplier<CachedResponse> loader) {
+        // Sem cache a resposta é comprimida aqui mesmo: o Tomcat não comprime
+        // corpos com ETag forte, então a versão gzip tem de sair pronta
+        return cache == null ? compress(loader.get()) : cache.get(key, ignored -> compress(loader.get()));
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (cache == null) {
+            return;
+        }
+        for (WireFormat format : WireFormat.values()) {
+            cache.invalidate(new ById(event.id(), format));
+            invalidateDates(event.previous(), format);
+            invalidateDates(event.current(), format);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (cache != null) {
+            CaffeineCacheMetrics.monitor(registry, cache, "tasks.responses");
+        }
+    }
+
+    private void invalidateDates(Task task, WireFormat format) {
+        if (task == null) {
+            return;
+        }
+        LocalDateTime scheduledDate = task.getScheduledDate();
+        cache.invalidate(new ByScheduledDate(scheduledDate, format));
+        if (scheduledDate != null) {
+            cache.invalidate(new ByDay(scheduledDate.toLocalDate(), format));
+        }
+    }
+
+    CachedResponse compress(CachedResponse response) {
+        // Comprime uma vez ao carregar, em vez de o Tomcat comprimir o mesmo
+        // corpo a cada acerto do cache
+        if (response.body().length < compressionThreshold) {
+            return response;
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(response.body().length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer, 8192)) {
+            gzip.write(response.body());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return new CachedResponse(response.body(), response.etag(), buffer.toByteArray());
+    }
+
+    record CachedResponse(byte[] body, String etag, byte[] gzipped) {
+
+        CachedResponse(byte[] body, String etag) {
+            this(body, etag, null);
+        }
+
+        private int weight() {
+            return body.length + (gzipped == null ? 0 : gzipped.length);
+        }
+
+    }
+
+    private record ById(UUID id, WireFormat format) {
+    }
+
+    private record ByScheduledDate(LocalDateTime scheduledDate, WireFormat format) {
+    }
+
+    private record ByDay(LocalDate day, WireFormat format) {
+    }
+
+    private record ForCollection(String etag, WireFormat format, Object query) {
+    }
+
+    private record ScheduledRange(LocalDateTime from, LocalDateTime to) {
+    }
+
+}
@@ -0,0 +1,18 @@
+package br.com.gms.api.controller;
+
+import java.util.List;
+
+import br.com.gms.api.model.valueobject.TaskSearchPage;
+
+public record TaskSearchResponseDTO(int total, List<Hit> results) {
+
+    public record Hit(TaskResponseDTO task, float score) {
+    }
+
+    public static TaskSearchResponseDTO from(TaskSearchPage page) {
+        return new TaskSearchResponseDTO(page.total(), page.results().stream()
+                .map(result -> new Hit(TaskResponseDTO.from(result.task()), result.score()))
+                .toList());
+    }
+
+}
@@ -0,0 +1,142 @@
+package br.com.gms.api.controller;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+
+public enum WireFormat {
+
+    JSON(MediaType.APPLICATION_JSON, ""),
+    CBOR(MediaType.APPLICATION_CBOR, "-cbor");
+
+    private final MediaType mediaType;
+    private final String etagSuffix;
+
+    WireFormat(MediaType mediaType, String etagSuffix) {
+        this.mediaType = mediaType;
+        this.etagSuffix = etagSuffix;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Sufixo da ETag desta representação: os bytes de JSON e CBOR diferem, então
+     * a mesma versão não pode ter a mesma ETag forte nos dois formatos.
+     */
+    public String etagSuffix() {
+        return etagSuffix;
+    }
+
+    /**
+     * Escolhe o formato de maior qualidade aceito pelo cliente; em empate, ou
+     * sem cabeçalho reconhecível, fica com JSON.
+     */
+    public static WireFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        WireFormat best = JSON;
+        double bestQuality = -1;
+        try {
+            for (MediaType accepted : MediaType.parseMediaTypes(accept)) {
+                for (WireFormat format : values()) {
+                    if (accepted.getQualityValue() > bestQuality && accepted.includes(format.mediaType)) {
+                        best = format;
+                        bestQuality = accepted.getQualityValue();
+                    }
+                }
+            }
+        } catch (InvalidMediaTypeException ex) {
+            return JSON;
+        }
+        return best;
+    }
+
+    /**
+     * Mapper CBOR das respostas e corpos binários: datas são o par [segundos,
+     * nanos] desde a época (o {@code LocalDateTime} lido como UTC), sem perder
+     * precisão, e UUIDs vão como 16 bytes, que o Jackson já grava em binário
+     * nativo quando o formato permite.
+     */
+    public static ObjectMapper cborMapper() {
+        SimpleModule epochDates = new SimpleModule("EpochDates")
+                .addSerializer(LocalDateTime.class, new EpochTimeSerializer())
+                .addDeserializer(LocalDateTime.class, new EpochTimeDeserializer());
+        return CBORMapper.builder()
+                .addModule(new JavaTimeModule())
+                .addModule(epochDates)
+                .enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+    }
+
+    private static final class EpochTimeSerializer extends StdSerializer<LocalDateTime> {
+
+        private EpochTimeSerializer() {
+            super(LocalDateTime.class);
+        }
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeStartArray(value, 2);
+            generator.writeNumber(value.toEpochSecond(ZoneOffset.UTC));
+            generator.writeNumber(value.getNano());
+            generator.writeEndArray();
+        }
+
+    }
+
+    private static final class EpochTimeDeserializer extends StdDeserializer<LocalDateTime> {
+
+        private EpochTimeDeserializer() {
+            super(LocalDateTime.class);
+        }
+
+        @Override
+        public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.hasToken(JsonToken.START_ARRAY)) {
+                if (parser.nextToken() == JsonToken.VALUE_NUMBER_INT) {
+                    long seconds = parser.getLongValue();
+                    if (parser.nextToken() == JsonToken.VALUE_NUMBER_INT) {
+                        int nanos = parser.getIntValue();
+                        if (parser.nextToken() == JsonToken.END_ARRAY) {
+                            return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+                        }
+                    }
+                }
+                return context.reportInputMismatch(LocalDateTime.class, "Data esperada como [segundos, nanos]");
+            }
+            // Número inteiro é o formato anterior, em milissegundos
+            if (parser.hasToken(JsonToken.VALUE_NUMBER_INT)) {
+                long millis = parser.getLongValue();
+                return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000),
+                        (int) Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC);
+            }
+            // Clientes que ainda mandam a data em texto ISO continuam aceitos
+            return LocalDateTimeDeserializer.INSTANCE.deserialize(parser, context);
+        }
+
+    }
+
+}
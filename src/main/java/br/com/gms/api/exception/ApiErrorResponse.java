@@ -1,5 +1,7 @@
 package br.com.gms.api.exception;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.util.List;
 
@@ -10,18 +12,34 @@ import org.springframework.web.method.annotation.MethodArgumentTypeMismatchExcep
 public record ApiErrorResponse(int status, String error, String message, OffsetDateTime timestamp,
                 List<FieldError> fields) {
 
+        private static final ErrorTemplate BAD_REQUEST = new ErrorTemplate(HttpStatus.BAD_REQUEST);
+        private static final ErrorTemplate NOT_FOUND = new ErrorTemplate(HttpStatus.NOT_FOUND);
+        private static final ErrorTemplate PRECONDITION_FAILED = new ErrorTemplate(HttpStatus.PRECONDITION_FAILED);
+        private static final ErrorTemplate UNPROCESSABLE_ENTITY = new ErrorTemplate(HttpStatus.UNPROCESSABLE_ENTITY);
+        private static final ErrorTemplate TOO_MANY_REQUESTS = new ErrorTemplate(HttpStatus.TOO_MANY_REQUESTS);
+        private static final ErrorTemplate INTERNAL_SERVER_ERROR = new ErrorTemplate(
+                        HttpStatus.INTERNAL_SERVER_ERROR);
+
+        private static final Clock CLOCK = Clock.systemDefaultZone();
+        private static volatile Timestamp lastTimestamp = new Timestamp(Long.MIN_VALUE, null);
+
         public record FieldError(String field, String message) {
         }
 
         public static ApiErrorResponse from(BusinessException ex) {
-                return new ApiErrorResponse(HttpStatus.UNPROCESSABLE_ENTITY.value(), "Unprocessable Entity",
-                                ex.getMessage(),
-                                OffsetDateTime.now(), null);
+                return UNPROCESSABLE_ENTITY.with(ex.getMessage());
         }
 
         public static ApiErrorResponse from(NotFoundException ex) {
-                return new ApiErrorResponse(HttpStatus.NOT_FOUND.value(), "Not Found", ex.getMessage(),
-                                OffsetDateTime.now(), null);
+                return NOT_FOUND.with(ex.getMessage());
+        }
+
+        public static ApiErrorResponse from(TaskConflictException ex) {
+                return PRECONDITION_FAILED.with(ex.getMessage());
+        }
+
+        public static ApiErrorResponse from(TaskQueueFullException ex) {
+                return TOO_MANY_REQUESTS.with(ex.getMessage());
         }
 
         public static ApiErrorResponse from(MethodArgumentNotValidException ex) {
@@ -30,23 +48,50 @@ public record ApiErrorResponse(int status, String error, String message, OffsetD
                                 .map(error -> new ApiErrorResponse.FieldError(error.getField(),
                                                 error.getDefaultMessage()))
                                 .toList();
-                return new ApiErrorResponse(HttpStatus.BAD_REQUEST.value(), "Bad Request",
-                                "Dados inválidos na requisição",
-                                OffsetDateTime.now(), fields);
+                return BAD_REQUEST.with("Dados inválidos na requisição", fields);
         }
 
         public static ApiErrorResponse from(MethodArgumentTypeMismatchException ex) {
-                return new ApiErrorResponse(HttpStatus.BAD_REQUEST.value(), "Bad Request",
-                                "Parâmetro inválido: " + ex.getValue(),
-                                OffsetDateTime.now(), null);
+                return BAD_REQUEST.with("Parâmetro inválido: " + ex.getValue());
         }
 
         public static ApiErrorResponse from() {
-                return new ApiErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(),
-                                "Internal Server Error",
-                                "Erro inesperado. Tente novamente mais tarde.",
-                                OffsetDateTime.now(),
-                                null);
+                return INTERNAL_SERVER_ERROR.with("Erro inesperado. Tente novamente mais tarde.");
+        }
+
+        /**
+         * Instante do erro com precisão de milissegundos. Numa rajada de erros,
+         * as respostas do mesmo milissegundo reaproveitam o mesmo valor em vez de
+         * consultar o fuso e montar um {@link OffsetDateTime} a cada uma.
+         */
+        static OffsetDateTime now() {
+                long millis = CLOCK.millis();
+                Timestamp last = lastTimestamp;
+                if (last.millis() != millis) {
+                        last = new Timestamp(millis, OffsetDateTime.ofInstant(Instant.ofEpochMilli(millis),
+                                        CLOCK.getZone()));
+                        lastTimestamp = last;
+                }
+                return last.value();
+        }
+
+        private record ErrorTemplate(int status, String error) {
+
+                private ErrorTemplate(HttpStatus status) {
+                        this(status.value(), status.getReasonPhrase());
+                }
+
+                private ApiErrorResponse with(String message) {
+                        return with(message, null);
+                }
+
+                private ApiErrorResponse with(String message, List<FieldError> fields) {
+                        return new ApiErrorResponse(status, error, message, now(), fields);
+                }
+
+        }
+
+        private record Timestamp(long millis, OffsetDateTime value) {
         }
 
 }
@@ -3,7 +3,9 @@ package br.com.gms.api.exception;
 public class BusinessException extends RuntimeException {
 
     public BusinessException(String message) {
-        super(message);
+        // Regras violadas são respostas esperadas (conclusão repetida, reabertura
+        // de tarefa aberta) e ninguém lê o rastro de pilha: não vale capturá-lo
+        super(message, null, false, false);
     }
 
 }
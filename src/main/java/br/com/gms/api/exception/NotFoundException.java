@@ -3,7 +3,9 @@ package br.com.gms.api.exception;
 public abstract class NotFoundException extends RuntimeException {
 
     protected NotFoundException(String message) {
-        super(message);
+        // Clientes com ids antigos disparam isto em rajadas; sem rastro de pilha
+        // o lançamento custa pouco mais que a alocação
+        super(message, null, false, false);
     }
 
 }
@@ -0,0 +1,11 @@
+package br.com.gms.api.exception;
+
+import java.util.UUID;
+
+public class TaskConflictException extends RuntimeException {
+
+    public TaskConflictException(UUID id) {
+        super("Tarefa alterada por outra requisição. Id: " + id, null, false, false);
+    }
+
+}
@@ -0,0 +1,9 @@
+package br.com.gms.api.exception;
+
+public class TaskQueueFullException extends RuntimeException {
+
+    public TaskQueueFullException() {
+        super("Fila de escrita cheia. Tente novamente em instantes.", null, false, false);
+    }
+
+}
@@ -1,5 +1,6 @@
 package br.com.gms.api.handler;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -10,6 +11,8 @@ import org.springframework.web.method.annotation.MethodArgumentTypeMismatchExcep
 import br.com.gms.api.exception.ApiErrorResponse;
 import br.com.gms.api.exception.BusinessException;
 import br.com.gms.api.exception.NotFoundException;
+import br.com.gms.api.exception.TaskConflictException;
+import br.com.gms.api.exception.TaskQueueFullException;
 
 @RestControllerAdvice
 public class ApiExceptionHandler {
@@ -32,6 +35,18 @@ public class ApiExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiErrorResponse.from(ex));
     }
 
+    @ExceptionHandler(TaskConflictException.class)
+    public ResponseEntity<ApiErrorResponse> handleConflict(TaskConflictException ex) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(ApiErrorResponse.from(ex));
+    }
+
+    @ExceptionHandler(TaskQueueFullException.class)
+    public ResponseEntity<ApiErrorResponse> handleQueueFull(TaskQueueFullException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiErrorResponse.from(ex));
+    }
+
     @ExceptionHandler(BusinessException.class)
     public ResponseEntity<ApiErrorResponse> handleBusiness(BusinessException ex) {
         return ResponseEntity.unprocessableEntity().body(ApiErrorResponse.from(ex));
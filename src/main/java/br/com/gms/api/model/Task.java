@@ -12,6 +12,7 @@ public class Task {
     private LocalDateTime scheduledDate;
     private LocalDateTime creationDate;
     private Boolean completed;
+    private long version;
 
     public Task(String description, LocalDateTime scheduledDate) {
         this.id = UUID.randomUUID();
@@ -21,6 +22,25 @@ public class Task {
         this.scheduledDate = validateScheduledDate(scheduledDate);
     }
 
+    private Task(UUID id, String description, LocalDateTime scheduledDate, LocalDateTime creationDate,
+            Boolean completed, long version) {
+        this.id = id;
+        this.description = description;
+        this.scheduledDate = scheduledDate;
+        this.creationDate = creationDate;
+        this.completed = completed;
+        this.version = version;
+    }
+
+    public static Task restore(UUID id, String description, LocalDateTime scheduledDate, LocalDateTime creationDate,
+            Boolean completed, long version) {
+        return new Task(id, description, scheduledDate, creationDate, completed, version);
+    }
+
+    public Task copy() {
+        return new Task(id, description, scheduledDate, creationDate, completed, version);
+    }
+
     private LocalDateTime validateScheduledDate(LocalDateTime scheduledDate) {
         if (scheduledDate != null && scheduledDate.isBefore(LocalDateTime.now())) {
             throw new BusinessException("Data agendada deve ser maior que hoje");
@@ -55,12 +75,18 @@ public class Task {
         return completed;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public void changeDescription(String newDescription) {
         this.description = validateDescription(newDescription);
+        this.version++;
     }
 
     public void changeScheduledDate(LocalDateTime newScheduledDate) {
         this.scheduledDate = validateScheduledDate(newScheduledDate);
+        this.version++;
     }
 
     public void conclude() {
@@ -68,6 +94,7 @@ public class Task {
             throw new BusinessException("Tarefa já concluída");
         }
         this.completed = Boolean.TRUE;
+        this.version++;
     }
 
     public void reopen() {
@@ -75,6 +102,7 @@ public class Task {
             throw new BusinessException("Tarefa já aberta");
         }
         this.completed = Boolean.FALSE;
+        this.version++;
     }
 
     @Override
@@ -86,8 +114,9 @@ public class Task {
                   scheduledDate: %s
                   creationDate: %s
                   completed: %s
+                  version: %s
                 }
-                """.formatted(id, description, scheduledDate, creationDate, Boolean.TRUE.equals(completed));
+                """.formatted(id, description, scheduledDate, creationDate, Boolean.TRUE.equals(completed), version);
     }
 
 }
@@ -0,0 +1,31 @@
+package br.com.gms.api.model.valueobject;
+
+import java.util.UUID;
+
+import br.com.gms.api.exception.BusinessException;
+import br.com.gms.api.exception.NotFoundException;
+import br.com.gms.api.exception.TaskConflictException;
+
+public record BatchItemResult(int index, UUID id, Status status, String message) {
+
+    public enum Status {
+        OK, NOT_FOUND, UNPROCESSABLE, CONFLICT
+    }
+
+    public static BatchItemResult ok(int index, UUID id) {
+        return new BatchItemResult(index, id, Status.OK, null);
+    }
+
+    public static BatchItemResult failed(int index, UUID id, BusinessException ex) {
+        return new BatchItemResult(index, id, Status.UNPROCESSABLE, ex.getMessage());
+    }
+
+    public static BatchItemResult failed(int index, UUID id, NotFoundException ex) {
+        return new BatchItemResult(index, id, Status.NOT_FOUND, ex.getMessage());
+    }
+
+    public static BatchItemResult failed(int index, UUID id, TaskConflictException ex) {
+        return new BatchItemResult(index, id, Status.CONFLICT, ex.getMessage());
+    }
+
+}
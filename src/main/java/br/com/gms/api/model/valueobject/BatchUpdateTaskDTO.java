@@ -0,0 +1,8 @@
+package br.com.gms.api.model.valueobject;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record BatchUpdateTaskDTO(UUID id, String description, LocalDateTime scheduledDate) {
+
+}
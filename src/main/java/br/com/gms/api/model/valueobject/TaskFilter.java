@@ -0,0 +1,83 @@
+package br.com.gms.api.model.valueobject;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+
+import br.com.gms.api.model.Task;
+
+public record TaskFilter(
+        Boolean completed,
+        @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime scheduledFrom,
+        @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime scheduledTo,
+        @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime createdFrom,
+        @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime createdTo,
+        String descriptionPrefix,
+        String descriptionContains,
+        SortField sort,
+        Direction direction,
+        Integer limit) {
+
+    public enum SortField {
+
+        SCHEDULED_DATE(Comparator.comparing(Task::getScheduledDate, Comparator.nullsLast(Comparator.naturalOrder()))),
+        CREATION_DATE(Comparator.comparing(Task::getCreationDate)),
+        DESCRIPTION(Comparator.comparing(Task::getDescription, String.CASE_INSENSITIVE_ORDER));
+
+        private final Comparator<Task> comparator;
+
+        SortField(Comparator<Task> comparator) {
+            this.comparator = comparator.thenComparing(Task::getId);
+        }
+
+    }
+
+    public enum Direction {
+        ASC, DESC
+    }
+
+    public boolean hasScheduledRange() {
+        return scheduledFrom != null || scheduledTo != null;
+    }
+
+    public Comparator<Task> comparator() {
+        if (sort == null) {
+            return null;
+        }
+        return direction == Direction.DESC ? sort.comparator.reversed() : sort.comparator;
+    }
+
+    public boolean matches(Task task) {
+        if (completed != null && !completed.equals(task.getCompleted())) {
+            return false;
+        }
+        if (hasScheduledRange() && !within(task.getScheduledDate(), scheduledFrom, scheduledTo)) {
+            return false;
+        }
+        if ((createdFrom != null || createdTo != null) && !within(task.getCreationDate(), createdFrom, createdTo)) {
+            return false;
+        }
+        String description = task.getDescription();
+        if (descriptionPrefix != null
+                && !description.regionMatches(true, 0, descriptionPrefix, 0, descriptionPrefix.length())) {
+            return false;
+        }
+        return descriptionContains == null || containsIgnoreCase(description, descriptionContains);
+    }
+
+    private static boolean within(LocalDateTime date, LocalDateTime from, LocalDateTime to) {
+        return date != null && (from == null || !date.isBefore(from)) && (to == null || date.isBefore(to));
+    }
+
+    private static boolean containsIgnoreCase(String text, String part) {
+        for (int i = 0; i <= text.length() - part.length(); i++) {
+            if (text.regionMatches(true, i, part, 0, part.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,12 @@
+package br.com.gms.api.model.valueobject;
+
+import java.util.List;
+
+import br.com.gms.api.model.Task;
+
+public record TaskSearchPage(int total, List<ScoredTask> results) {
+
+    public record ScoredTask(Task task, float score) {
+    }
+
+}
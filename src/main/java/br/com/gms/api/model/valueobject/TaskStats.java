@@ -0,0 +1,9 @@
+package br.com.gms.api.model.valueobject;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.SortedMap;
+
+public record TaskStats(long total, long open, long completed, long overdue, long unscheduled,
+        SortedMap<LocalDate, Long> perDay, SortedMap<LocalDateTime, Long> perHour) {
+}
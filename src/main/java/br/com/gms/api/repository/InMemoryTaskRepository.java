@@ -0,0 +1,341 @@
+package br.com.gms.api.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import br.com.gms.api.model.Task;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Repository
+@ConditionalOnProperty(name = "api.task.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryTaskRepository implements TaskRepository, MeterBinder {
+
+    private static final UUID LOWEST_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+    private static final UUID HIGHEST_ID = new UUID(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    private final ConcurrentMap<UUID, Entry> tasks = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<UUID, Task> byId = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<ScheduleKey, Task> byScheduledDate = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<UUID, Task> unscheduled = new ConcurrentHashMap<>();
+    private final ConcurrentMap<UUID, Task> completed = new ConcurrentHashMap<>();
+    private final ConcurrentMap<UUID, Task> open = new ConcurrentHashMap<>();
+    private final LongAdder scheduledCount = new LongAdder();
+    private final LongAdder modifications = new LongAdder();
+
+    private final TaskJournal journal;
+
+    public InMemoryTaskRepository() {
+        this(TaskJournal.NONE);
+    }
+
+    @Autowired
+    public InMemoryTaskRepository(ObjectProvider<TaskJournal> journal) {
+        this(journal.getIfAvailable(() -> TaskJournal.NONE));
+    }
+
+    public InMemoryTaskRepository(TaskJournal journal) {
+        this.journal = journal;
+        journal.open(this::restore, this::remove, () -> tasks.values().stream().map(Entry::task).iterator());
+    }
+
+    @Override
+    public Task save(Task task) {
+        journal.awaitDurable(put(task));
+        return task;
+    }
+
+    @Override
+    public List<Task> saveAll(Collection<Task> tasks) {
+        long position = 0;
+        for (Task task : tasks) {
+            position = put(task);
+        }
+        journal.awaitDurable(position);
+        return List.copyOf(tasks);
+    }
+
+    @Override
+    public boolean compareAndSave(Task task, long expectedVersion) {
+        long position = putIfVersion(task, expectedVersion);
+        if (position < 0) {
+            return false;
+        }
+        journal.awaitDurable(position);
+        return true;
+    }
+
+    @Override
+    public Set<UUID> compareAndSaveAll(Collection<Task> tasks, Map<UUID, Long> expectedVersions) {
+        Set<UUID> saved = new HashSet<>();
+        long last = 0;
+        for (Task task : tasks) {
+            long position = putIfVersion(task, expectedVersions.get(task.getId()));
+            if (position >= 0) {
+                saved.add(task.getId());
+                last = position;
+            }
+        }
+        journal.awaitDurable(last);
+        return saved;
+    }
+
+    @Override
+    public Optional<Task> findById(UUID id) {
+        Entry entry = tasks.get(id);
+        return entry == null ? Optional.empty() : Optional.of(entry.task());
+    }
+
+    @Override
+    public List<Task> findAllById(Collection<UUID> ids) {
+        List<Task> found = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            Entry entry = tasks.get(id);
+            if (entry != null) {
+                found.add(entry.task());
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public List<Task> findAll() {
+        return tasks.values().stream().map(Entry::task).toList();
+    }
+
+    @Override
+    public List<Task> findPage(UUID after, int limit) {
+        NavigableMap<UUID, Task> page = after == null ? byId : byId.tailMap(after, false);
+        return page.values().stream().limit(limit).toList();
+    }
+
+    @Override
+    public List<Task> findByScheduledDate(LocalDateTime scheduledDate) {
+        if (scheduledDate == null) {
+            return List.copyOf(unscheduled.values());
+        }
+        return List.copyOf(byScheduledDate
+                .subMap(new ScheduleKey(scheduledDate, LOWEST_ID), true, new ScheduleKey(scheduledDate, HIGHEST_ID), true)
+                .values());
+    }
+
+    @Override
+    public List<Task> findByScheduledDateBetween(LocalDateTime from, LocalDateTime to) {
+        NavigableMap<ScheduleKey, Task> range = byScheduledDate;
+        if (from != null) {
+            range = range.tailMap(new ScheduleKey(from, LOWEST_ID), true);
+        }
+        if (to != null) {
+            range = range.headMap(new ScheduleKey(to, LOWEST_ID), false);
+        }
+        return List.copyOf(range.values());
+    }
+
+    @Override
+    public List<Task> findByCompleted(boolean completed) {
+        return List.copyOf(byCompletion(completed).values());
+    }
+
+    @Override
+    public long countByCompleted(boolean completed) {
+        return byCompletion(completed).size();
+    }
+
+    @Override
+    public Optional<Task> deleteById(UUID id) {
+        Removed removed = delete(id);
+        if (removed == null) {
+            return Optional.empty();
+        }
+        journal.awaitDurable(removed.position());
+        return Optional.of(removed.task());
+    }
+
+    @Override
+    public List<Task> deleteAllById(Collection<UUID> ids) {
+        List<Task> deleted = new ArrayList<>();
+        long last = 0;
+        for (UUID id : ids) {
+            Removed removed = delete(id);
+            if (removed != null) {
+                deleted.add(removed.task());
+                last = removed.position();
+            }
+        }
+        journal.awaitDurable(last);
+        return deleted;
+    }
+
+    @Override
+    public long count() {
+        return tasks.size();
+    }
+
+    @Override
+    public long modificationCount() {
+        return modifications.sum();
+    }
+
+    public long scheduledIndexSize() {
+        return scheduledCount.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tasks.store.size", this, InMemoryTaskRepository::count)
+                .tag("store", "memory")
+                .register(registry);
+        Gauge.builder("tasks.index.size", this, InMemoryTaskRepository::scheduledIndexSize)
+                .tag("index", "scheduledDate")
+                .register(registry);
+        Gauge.builder("tasks.index.size", unscheduled, Map::size)
+                .tag("index", "unscheduled")
+                .register(registry);
+        Gauge.builder("tasks.index.size", completed, Map::size)
+                .tag("index", "completed")
+                .register(registry);
+    }
+
+    // O registro vai para o log dentro do compute, mas a entrada só fica
+    // visível quando ele retorna: só então o log pode ser avisado
+    private long put(Task task) {
+        long[] position = { -1 };
+        try {
+            tasks.compute(task.getId(), (id, previous) -> {
+                position[0] = journal.saved(task);
+                return replace(previous, task);
+            });
+        } finally {
+            published(position[0]);
+        }
+        modifications.increment();
+        return position[0];
+    }
+
+    private long putIfVersion(Task task, long expectedVersion) {
+        long[] position = { -1 };
+        try {
+            tasks.computeIfPresent(task.getId(), (id, previous) -> {
+                if (previous.task().getVersion() != expectedVersion) {
+                    return previous;
+                }
+                position[0] = journal.saved(task);
+                return replace(previous, task);
+            });
+        } finally {
+            published(position[0]);
+        }
+        if (position[0] >= 0) {
+            modifications.increment();
+        }
+        return position[0];
+    }
+
+    private Removed delete(UUID id) {
+        long[] position = { -1 };
+        Task[] task = { null };
+        try {
+            tasks.computeIfPresent(id, (key, entry) -> {
+                position[0] = journal.deleted(key);
+                task[0] = entry.task();
+                return unlink(entry);
+            });
+        } finally {
+            published(position[0]);
+        }
+        if (task[0] == null) {
+            return null;
+        }
+        modifications.increment();
+        return new Removed(task[0], position[0]);
+    }
+
+    private void published(long position) {
+        if (position >= 0) {
+            journal.published();
+        }
+    }
+
+    private void restore(Task task) {
+        tasks.compute(task.getId(), (id, previous) -> replace(previous, task));
+    }
+
+    private void remove(UUID id) {
+        tasks.computeIfPresent(id, (key, entry) -> unlink(entry));
+    }
+
+    private Entry unlink(Entry entry) {
+        byId.remove(entry.task().getId());
+        unindex(entry.task().getId(), entry.scheduledDate());
+        byCompletion(entry.completed()).remove(entry.task().getId());
+        return null;
+    }
+
+    private Entry replace(Entry previous, Task task) {
+        if (previous != null) {
+            unindex(task.getId(), previous.scheduledDate());
+            byCompletion(previous.completed()).remove(task.getId());
+        }
+        LocalDateTime scheduledDate = task.getScheduledDate();
+        boolean done = Boolean.TRUE.equals(task.getCompleted());
+        byId.put(task.getId(), task);
+        index(task, scheduledDate);
+        byCompletion(done).put(task.getId(), task);
+        return new Entry(task, scheduledDate, done);
+    }
+
+    private void index(Task task, LocalDateTime scheduledDate) {
+        if (scheduledDate == null) {
+            unscheduled.put(task.getId(), task);
+        } else if (byScheduledDate.put(new ScheduleKey(scheduledDate, task.getId()), task) == null) {
+            scheduledCount.increment();
+        }
+    }
+
+    private void unindex(UUID id, LocalDateTime scheduledDate) {
+        if (scheduledDate == null) {
+            unscheduled.remove(id);
+        } else if (byScheduledDate.remove(new ScheduleKey(scheduledDate, id)) != null) {
+            scheduledCount.decrement();
+        }
+    }
+
+    private ConcurrentMap<UUID, Task> byCompletion(boolean done) {
+        return done ? completed : open;
+    }
+
+    private record Removed(Task task, long position) {
+    }
+
+    private record Entry(Task task, LocalDateTime scheduledDate, boolean completed) {
+    }
+
+    private record ScheduleKey(LocalDateTime scheduledDate, UUID id) implements Comparable<ScheduleKey> {
+
+        @Override
+        public int compareTo(ScheduleKey other) {
+            int byDate = scheduledDate.compareTo(other.scheduledDate);
+            return byDate != 0 ? byDate : id.compareTo(other.id);
+        }
+
+    }
+
+}
@@ -0,0 +1,51 @@
+package br.com.gms.api.repository;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import br.com.gms.api.model.Task;
+
+public interface TaskJournal {
+
+    TaskJournal NONE = new TaskJournal() {
+
+        @Override
+        public void open(Consumer<Task> restore, Consumer<UUID> remove, Iterable<Task> tasks) {
+        }
+
+        @Override
+        public long saved(Task task) {
+            return 0;
+        }
+
+        @Override
+        public long deleted(UUID id) {
+            return 0;
+        }
+
+        @Override
+        public void published() {
+        }
+
+        @Override
+        public void awaitDurable(long position) {
+        }
+
+    };
+
+    void open(Consumer<Task> restore, Consumer<UUID> remove, Iterable<Task> tasks);
+
+    long saved(Task task);
+
+    long deleted(UUID id);
+
+    /**
+     * Avisa que a alteração gravada pelo último {@code saved}/{@code deleted}
+     * desta thread já está visível em {@code tasks}; deve ser chamado uma vez
+     * para cada gravação, mesmo que a alteração falhe depois de gravada.
+     */
+    void published();
+
+    void awaitDurable(long position);
+
+}
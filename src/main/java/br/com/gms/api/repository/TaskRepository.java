@@ -0,0 +1,54 @@
+package br.com.gms.api.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import br.com.gms.api.model.Task;
+
+public interface TaskRepository {
+
+    Task save(Task task);
+
+    List<Task> saveAll(Collection<Task> tasks);
+
+    boolean compareAndSave(Task task, long expectedVersion);
+
+    Set<UUID> compareAndSaveAll(Collection<Task> tasks, Map<UUID, Long> expectedVersions);
+
+    Optional<Task> findById(UUID id);
+
+    List<Task> findAllById(Collection<UUID> ids);
+
+    List<Task> findAll();
+
+    List<Task> findPage(UUID after, int limit);
+
+    List<Task> findByScheduledDate(LocalDateTime scheduledDate);
+
+    List<Task> findByScheduledDateBetween(LocalDateTime from, LocalDateTime to);
+
+    List<Task> findByCompleted(boolean completed);
+
+    long countByCompleted(boolean completed);
+
+    /**
+     * Remove a tarefa e devolve a versão que foi removida, lida na mesma
+     * operação que a remove.
+     */
+    Optional<Task> deleteById(UUID id);
+
+    /**
+     * Remove as tarefas existentes e devolve as versões removidas.
+     */
+    List<Task> deleteAllById(Collection<UUID> ids);
+
+    long count();
+
+    long modificationCount();
+
+}
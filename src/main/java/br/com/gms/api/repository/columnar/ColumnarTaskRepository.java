@@ -0,0 +1,456 @@
+package br.com.gms.api.repository.columnar;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import br.com.gms.api.model.Task;
+import br.com.gms.api.repository.TaskRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Repository
+@ConditionalOnProperty(name = "api.task.store", havingValue = "columnar")
+public class ColumnarTaskRepository implements TaskRepository, MeterBinder {
+
+    private static final long UNSCHEDULED = Long.MIN_VALUE;
+    private static final long MIN_COMPACTION_GARBAGE = 64L << 20;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final LongColumn mostSignificantBits = new LongColumn();
+    private final LongColumn leastSignificantBits = new LongColumn();
+    private final LongColumn versions = new LongColumn();
+    private final LongColumn creationSeconds = new LongColumn();
+    private final IntColumn creationNanos = new IntColumn();
+    private final LongColumn scheduledSeconds = new LongColumn();
+    private final IntColumn scheduledNanos = new IntColumn();
+    private final LongColumn descriptionAddresses = new LongColumn();
+    private final IntColumn descriptionLengths = new IntColumn();
+    private final BitSet completed = new BitSet();
+    private final IdIndex index = new IdIndex(mostSignificantBits, leastSignificantBits);
+    // Os índices ordenados guardam só números de linha e comparam lendo as
+    // colunas; uma remoção move a última linha para o lugar da removida
+    private final SortedRows byId = new SortedRows(this::compareIds);
+    private final SortedRows byScheduledDate = new SortedRows(this::compareSchedules);
+
+    private DescriptionArena descriptions = new DescriptionArena();
+    private int rows;
+    private volatile long modifications;
+
+    @Override
+    public Task save(Task task) {
+        lock.writeLock().lock();
+        try {
+            write(task);
+            modifications++;
+            return task;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> saveAll(Collection<Task> tasks) {
+        lock.writeLock().lock();
+        try {
+            tasks.forEach(this::write);
+            modifications++;
+            return List.copyOf(tasks);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean compareAndSave(Task task, long expectedVersion) {
+        lock.writeLock().lock();
+        try {
+            if (!writeIfVersion(task, expectedVersion)) {
+                return false;
+            }
+            modifications++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Set<UUID> compareAndSaveAll(Collection<Task> tasks, Map<UUID, Long> expectedVersions) {
+        lock.writeLock().lock();
+        try {
+            Set<UUID> saved = new HashSet<>();
+            for (Task task : tasks) {
+                if (writeIfVersion(task, expectedVersions.get(task.getId()))) {
+                    saved.add(task.getId());
+                }
+            }
+            if (!saved.isEmpty()) {
+                modifications++;
+            }
+            return saved;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Task> findById(UUID id) {
+        lock.readLock().lock();
+        try {
+            int row = rowOf(id);
+            return row < 0 ? Optional.empty() : Optional.of(view(row));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> findAllById(Collection<UUID> ids) {
+        lock.readLock().lock();
+        try {
+            List<Task> found = new ArrayList<>(ids.size());
+            for (UUID id : ids) {
+                int row = rowOf(id);
+                if (row >= 0) {
+                    found.add(view(row));
+                }
+            }
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> findAll() {
+        lock.readLock().lock();
+        try {
+            List<Task> found = new ArrayList<>(rows);
+            for (int row = 0; row < rows; row++) {
+                found.add(view(row));
+            }
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> findPage(UUID after, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Task> found = new ArrayList<>(Math.max(0, Math.min(limit, rows)));
+            IntPredicate before = after == null ? row -> false
+                    : row -> compareId(row, after.getMostSignificantBits(), after.getLeastSignificantBits()) <= 0;
+            byId.scan(before, row -> {
+                if (found.size() >= limit) {
+                    return false;
+                }
+                found.add(view(row));
+                return true;
+            });
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> findByScheduledDate(LocalDateTime scheduledDate) {
+        long seconds = scheduledDate == null ? UNSCHEDULED : scheduledDate.toEpochSecond(ZoneOffset.UTC);
+        int nanos = scheduledDate == null ? 0 : scheduledDate.getNano();
+        lock.readLock().lock();
+        try {
+            List<Task> found = new ArrayList<>();
+            byScheduledDate.scan(row -> compareSchedule(row, seconds, nanos) < 0, row -> {
+                if (compareSchedule(row, seconds, nanos) != 0) {
+                    return false;
+                }
+                found.add(view(row));
+                return true;
+            });
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> findByScheduledDateBetween(LocalDateTime from, LocalDateTime to) {
+        // Tarefas sem data ficam no início do índice e nunca entram num intervalo
+        long fromSeconds = from == null ? UNSCHEDULED + 1 : from.toEpochSecond(ZoneOffset.UTC);
+        int fromNanos = from == null ? 0 : from.getNano();
+        long toSeconds = to == null ? Long.MAX_VALUE : to.toEpochSecond(ZoneOffset.UTC);
+        int toNanos = to == null ? Integer.MAX_VALUE : to.getNano();
+        lock.readLock().lock();
+        try {
+            List<Task> found = new ArrayList<>();
+            byScheduledDate.scan(row -> compareSchedule(row, fromSeconds, fromNanos) < 0, row -> {
+                if (compareSchedule(row, toSeconds, toNanos) >= 0) {
+                    return false;
+                }
+                found.add(view(row));
+                return true;
+            });
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> findByCompleted(boolean completed) {
+        lock.readLock().lock();
+        try {
+            List<Task> found = new ArrayList<>();
+            for (int row = next(0, completed); row >= 0 && row < rows; row = next(row + 1, completed)) {
+                found.add(view(row));
+            }
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long countByCompleted(boolean completed) {
+        lock.readLock().lock();
+        try {
+            int done = this.completed.cardinality();
+            return completed ? done : rows - done;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Task> deleteById(UUID id) {
+        lock.writeLock().lock();
+        try {
+            Task deleted = delete(id);
+            if (deleted == null) {
+                return Optional.empty();
+            }
+            modifications++;
+            return Optional.of(deleted);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> deleteAllById(Collection<UUID> ids) {
+        lock.writeLock().lock();
+        try {
+            List<Task> deleted = new ArrayList<>();
+            for (UUID id : ids) {
+                Task task = delete(id);
+                if (task != null) {
+                    deleted.add(task);
+                }
+            }
+            if (!deleted.isEmpty()) {
+                modifications++;
+            }
+            return deleted;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public long count() {
+        lock.readLock().lock();
+        try {
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long modificationCount() {
+        return modifications;
+    }
+
+    public long descriptionBytes() {
+        lock.readLock().lock();
+        try {
+            return descriptions.allocatedBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tasks.store.size", this, ColumnarTaskRepository::count)
+                .tag("store", "columnar")
+                .register(registry);
+        Gauge.builder("tasks.store.description.bytes", this, ColumnarTaskRepository::descriptionBytes)
+                .tag("store", "columnar")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private void write(Task task) {
+        long msb = task.getId().getMostSignificantBits();
+        long lsb = task.getId().getLeastSignificantBits();
+        int row = index.find(msb, lsb);
+        boolean inserted = row < 0;
+        if (inserted) {
+            row = rows++;
+            mostSignificantBits.set(row, msb);
+            leastSignificantBits.set(row, lsb);
+            creationSeconds.set(row, task.getCreationDate().toEpochSecond(ZoneOffset.UTC));
+            creationNanos.set(row, task.getCreationDate().getNano());
+            index.put(msb, lsb, row);
+            byId.add(row);
+            writeDescription(row, task.getDescription());
+        } else if (!descriptions.matches(descriptionAddresses.get(row), descriptionLengths.get(row),
+                task.getDescription())) {
+            descriptions.release(descriptionLengths.get(row));
+            writeDescription(row, task.getDescription());
+        }
+
+        versions.set(row, task.getVersion());
+        completed.set(row, Boolean.TRUE.equals(task.getCompleted()));
+
+        LocalDateTime scheduledDate = task.getScheduledDate();
+        long seconds = scheduledDate == null ? UNSCHEDULED : scheduledDate.toEpochSecond(ZoneOffset.UTC);
+        int nanos = scheduledDate == null ? 0 : scheduledDate.getNano();
+        if (inserted || scheduledSeconds.get(row) != seconds || scheduledNanos.get(row) != nanos) {
+            if (!inserted) {
+                byScheduledDate.remove(row);
+            }
+            scheduledSeconds.set(row, seconds);
+            scheduledNanos.set(row, nanos);
+            byScheduledDate.add(row);
+        }
+    }
+
+    private void writeDescription(int row, String description) {
+        byte[] bytes = description.getBytes(StandardCharsets.UTF_8);
+        descriptionAddresses.set(row, descriptions.write(bytes));
+        descriptionLengths.set(row, bytes.length);
+        compactIfNeeded();
+    }
+
+    private boolean writeIfVersion(Task task, long expectedVersion) {
+        int row = rowOf(task.getId());
+        if (row < 0 || versions.get(row) != expectedVersion) {
+            return false;
+        }
+        write(task);
+        return true;
+    }
+
+    private Task delete(UUID id) {
+        int row = rowOf(id);
+        if (row < 0) {
+            return null;
+        }
+        Task deleted = view(row);
+
+        index.remove(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        byId.remove(row);
+        byScheduledDate.remove(row);
+        descriptions.release(descriptionLengths.get(row));
+        int last = --rows;
+        if (row != last) {
+            move(last, row);
+        }
+        completed.clear(last);
+        return deleted;
+    }
+
+    private void move(int from, int to) {
+        mostSignificantBits.set(to, mostSignificantBits.get(from));
+        leastSignificantBits.set(to, leastSignificantBits.get(from));
+        versions.set(to, versions.get(from));
+        creationSeconds.set(to, creationSeconds.get(from));
+        creationNanos.set(to, creationNanos.get(from));
+        scheduledSeconds.set(to, scheduledSeconds.get(from));
+        scheduledNanos.set(to, scheduledNanos.get(from));
+        descriptionAddresses.set(to, descriptionAddresses.get(from));
+        descriptionLengths.set(to, descriptionLengths.get(from));
+        completed.set(to, completed.get(from));
+        index.put(mostSignificantBits.get(to), leastSignificantBits.get(to), to);
+        byId.moved(from, to);
+        byScheduledDate.moved(from, to);
+    }
+
+    private void compactIfNeeded() {
+        if (descriptions.garbageBytes() < MIN_COMPACTION_GARBAGE
+                || descriptions.garbageBytes() < descriptions.liveBytes()) {
+            return;
+        }
+
+        DescriptionArena compacted = new DescriptionArena();
+        for (int row = 0; row < rows; row++) {
+            descriptionAddresses.set(row,
+                    descriptions.copyTo(compacted, descriptionAddresses.get(row), descriptionLengths.get(row)));
+        }
+        descriptions = compacted;
+    }
+
+    private int next(int from, boolean completed) {
+        return completed ? this.completed.nextSetBit(from) : this.completed.nextClearBit(from);
+    }
+
+    // Mesma ordem de UUID.compareTo, para as páginas baterem com as dos
+    // demais repositórios
+    private int compareId(int row, long msb, long lsb) {
+        int byMostSignificant = Long.compare(mostSignificantBits.get(row), msb);
+        return byMostSignificant != 0 ? byMostSignificant : Long.compare(leastSignificantBits.get(row), lsb);
+    }
+
+    private int compareIds(int row, int other) {
+        return compareId(row, mostSignificantBits.get(other), leastSignificantBits.get(other));
+    }
+
+    // Sem data é UNSCHEDULED, que fica antes de qualquer data
+    private int compareSchedule(int row, long seconds, int nanos) {
+        int bySeconds = Long.compare(scheduledSeconds.get(row), seconds);
+        return bySeconds != 0 ? bySeconds : Integer.compare(scheduledNanos.get(row), nanos);
+    }
+
+    private int compareSchedules(int row, int other) {
+        int bySchedule = compareSchedule(row, scheduledSeconds.get(other), scheduledNanos.get(other));
+        return bySchedule != 0 ? bySchedule : compareIds(row, other);
+    }
+
+    private Task view(int row) {
+        long scheduled = scheduledSeconds.get(row);
+        return Task.restore(
+                new UUID(mostSignificantBits.get(row), leastSignificantBits.get(row)),
+                descriptions.read(descriptionAddresses.get(row), descriptionLengths.get(row)),
+                scheduled == UNSCHEDULED ? null
+                        : LocalDateTime.ofEpochSecond(scheduled, scheduledNanos.get(row), ZoneOffset.UTC),
+                LocalDateTime.ofEpochSecond(creationSeconds.get(row), creationNanos.get(row), ZoneOffset.UTC),
+                completed.get(row),
+                versions.get(row));
+    }
+
+    private int rowOf(UUID id) {
+        return index.find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+}
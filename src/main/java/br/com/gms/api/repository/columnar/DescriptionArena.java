@@ -0,0 +1,91 @@
+package br.com.gms.api.repository.columnar;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+final class DescriptionArena {
+
+    private static final int PAGE_SIZE = 1 << 20;
+
+    private byte[][] pages = new byte[0][];
+    private int pageCount;
+    private int current = -1;
+    private int offset;
+    private long liveBytes;
+    private long garbageBytes;
+
+    long write(byte[] bytes) {
+        return write(bytes, 0, bytes.length);
+    }
+
+    long write(byte[] source, int from, int length) {
+        liveBytes += length;
+        if (length > PAGE_SIZE / 4) {
+            return address(addPage(Arrays.copyOfRange(source, from, from + length)), 0);
+        }
+        if (current < 0 || PAGE_SIZE - offset < length) {
+            current = addPage(new byte[PAGE_SIZE]);
+            offset = 0;
+        }
+        System.arraycopy(source, from, pages[current], offset, length);
+        long address = address(current, offset);
+        offset += length;
+        return address;
+    }
+
+    String read(long address, int length) {
+        return new String(pages[page(address)], offset(address), length, StandardCharsets.UTF_8);
+    }
+
+    boolean matches(long address, int length, String description) {
+        byte[] bytes = description.getBytes(StandardCharsets.UTF_8);
+        int from = offset(address);
+        return bytes.length == length && Arrays.equals(pages[page(address)], from, from + length, bytes, 0, length);
+    }
+
+    long copyTo(DescriptionArena target, long address, int length) {
+        return target.write(pages[page(address)], offset(address), length);
+    }
+
+    void release(int length) {
+        liveBytes -= length;
+        garbageBytes += length;
+    }
+
+    long liveBytes() {
+        return liveBytes;
+    }
+
+    long garbageBytes() {
+        return garbageBytes;
+    }
+
+    long allocatedBytes() {
+        long allocated = 0;
+        for (int i = 0; i < pageCount; i++) {
+            allocated += pages[i].length;
+        }
+        return allocated;
+    }
+
+    private int addPage(byte[] page) {
+        if (pageCount == pages.length) {
+            pages = Arrays.copyOf(pages, Math.max(16, pages.length * 2));
+        }
+        pages[pageCount] = page;
+        return pageCount++;
+    }
+
+    private static long address(int page, int offset) {
+        return (long) page << 32 | offset;
+    }
+
+    private static int page(long address) {
+        return (int) (address >>> 32);
+    }
+
+    private static int offset(long address) {
+        return (int) address;
+    }
+
+}
@@ -0,0 +1,88 @@
+package br.com.gms.api.repository.columnar;
+
+final class IdIndex {
+
+    private static final int EMPTY = 0;
+
+    private final LongColumn mostSignificantBits;
+    private final LongColumn leastSignificantBits;
+
+    private int[] slots = new int[1024];
+    private int size;
+
+    IdIndex(LongColumn mostSignificantBits, LongColumn leastSignificantBits) {
+        this.mostSignificantBits = mostSignificantBits;
+        this.leastSignificantBits = leastSignificantBits;
+    }
+
+    int find(long msb, long lsb) {
+        int slot = slotOf(msb, lsb);
+        return slots[slot] == EMPTY ? -1 : slots[slot] - 1;
+    }
+
+    void put(long msb, long lsb, int row) {
+        int slot = slotOf(msb, lsb);
+        if (slots[slot] == EMPTY) {
+            size++;
+        }
+        slots[slot] = row + 1;
+        if (size > slots.length / 4 * 3) {
+            resize();
+        }
+    }
+
+    void remove(long msb, long lsb) {
+        int mask = slots.length - 1;
+        int slot = slotOf(msb, lsb);
+        if (slots[slot] == EMPTY) {
+            return;
+        }
+
+        slots[slot] = EMPTY;
+        size--;
+        for (int next = (slot + 1) & mask; slots[next] != EMPTY; next = (next + 1) & mask) {
+            int row = slots[next] - 1;
+            int home = hash(mostSignificantBits.get(row), leastSignificantBits.get(row)) & mask;
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                slots[slot] = slots[next];
+                slots[next] = EMPTY;
+                slot = next;
+            }
+        }
+    }
+
+    private int slotOf(long msb, long lsb) {
+        int mask = slots.length - 1;
+        int slot = hash(msb, lsb) & mask;
+        while (slots[slot] != EMPTY) {
+            int row = slots[slot] - 1;
+            if (mostSignificantBits.get(row) == msb && leastSignificantBits.get(row) == lsb) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        int[] previous = slots;
+        slots = new int[previous.length * 2];
+        int mask = slots.length - 1;
+        for (int entry : previous) {
+            if (entry != EMPTY) {
+                int row = entry - 1;
+                int slot = hash(mostSignificantBits.get(row), leastSignificantBits.get(row)) & mask;
+                while (slots[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = entry;
+            }
+        }
+    }
+
+    private static int hash(long msb, long lsb) {
+        long mixed = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+}
@@ -0,0 +1,28 @@
+package br.com.gms.api.repository.columnar;
+
+import java.util.Arrays;
+
+final class LongColumn {
+
+    static final int PAGE_BITS = 16;
+    static final int PAGE_SIZE = 1 << PAGE_BITS;
+    static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private long[][] pages = new long[0][];
+
+    long get(int row) {
+        return pages[row >>> PAGE_BITS][row & PAGE_MASK];
+    }
+
+    void set(int row, long value) {
+        int page = row >>> PAGE_BITS;
+        if (page >= pages.length) {
+            pages = Arrays.copyOf(pages, Math.max(page + 1, pages.length * 2));
+        }
+        if (pages[page] == null) {
+            pages[page] = new long[PAGE_SIZE];
+        }
+        pages[page][row & PAGE_MASK] = value;
+    }
+
+}
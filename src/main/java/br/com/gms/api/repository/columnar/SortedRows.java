@@ -0,0 +1,154 @@
+package br.com.gms.api.repository.columnar;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Índice ordenado que guarda só números de linha, em blocos de int[]: a ordem
+ * é decidida lendo as colunas, então cada tarefa custa 4 bytes por índice em
+ * vez de um nó de árvore com a chave em objeto. Inserir ou remover desloca no
+ * máximo um bloco.
+ */
+final class SortedRows {
+
+    private static final int BLOCK_SIZE = 512;
+
+    private final RowOrder order;
+
+    private int[][] blocks = new int[0][];
+    private int[] sizes = new int[0];
+    private int blockCount;
+
+    SortedRows(RowOrder order) {
+        this.order = order;
+    }
+
+    void add(int row) {
+        if (blockCount == 0) {
+            int[] rows = new int[BLOCK_SIZE];
+            rows[0] = row;
+            insertBlock(0, rows, 1);
+            return;
+        }
+        IntPredicate before = other -> order.compare(other, row) < 0;
+        int block = Math.min(firstBlock(before), blockCount - 1);
+        int offset = lowerBound(block, before);
+        int[] rows = blocks[block];
+        System.arraycopy(rows, offset, rows, offset + 1, sizes[block] - offset);
+        rows[offset] = row;
+        if (++sizes[block] == BLOCK_SIZE) {
+            split(block);
+        }
+    }
+
+    /**
+     * Remove a linha; as colunas dela ainda precisam conter a chave.
+     */
+    void remove(int row) {
+        IntPredicate before = other -> order.compare(other, row) < 0;
+        int block = firstBlock(before);
+        int offset = lowerBound(block, before);
+        int[] rows = blocks[block];
+        System.arraycopy(rows, offset + 1, rows, offset, sizes[block] - offset - 1);
+        if (--sizes[block] == 0) {
+            removeBlock(block);
+        }
+    }
+
+    /**
+     * Troca a linha {@code from} por {@code to}, que recebeu uma cópia das
+     * colunas dela: a posição no índice não muda.
+     */
+    void moved(int from, int to) {
+        IntPredicate before = other -> order.compare(other, from) < 0;
+        int block = firstBlock(before);
+        blocks[block][lowerBound(block, before)] = to;
+    }
+
+    /**
+     * Visita em ordem as linhas a partir da primeira que não vem antes da
+     * chave, enquanto o visitante devolver {@code true}.
+     */
+    void scan(IntPredicate before, IntPredicate visitor) {
+        int block = firstBlock(before);
+        if (block == blockCount) {
+            return;
+        }
+        for (int offset = lowerBound(block, before); block < blockCount; block++, offset = 0) {
+            int[] rows = blocks[block];
+            for (; offset < sizes[block]; offset++) {
+                if (!visitor.test(rows[offset])) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Primeiro bloco cujo último elemento não vem antes da chave, ou
+     * {@code blockCount} se a chave é maior que todas.
+     */
+    private int firstBlock(IntPredicate before) {
+        int low = 0;
+        int high = blockCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (before.test(blocks[middle][sizes[middle] - 1])) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int lowerBound(int block, IntPredicate before) {
+        int[] rows = blocks[block];
+        int low = 0;
+        int high = sizes[block];
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (before.test(rows[middle])) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void split(int block) {
+        int half = BLOCK_SIZE / 2;
+        int[] upper = new int[BLOCK_SIZE];
+        System.arraycopy(blocks[block], half, upper, 0, BLOCK_SIZE - half);
+        sizes[block] = half;
+        insertBlock(block + 1, upper, BLOCK_SIZE - half);
+    }
+
+    private void insertBlock(int position, int[] rows, int size) {
+        if (blockCount == blocks.length) {
+            int capacity = Math.max(4, blockCount * 2);
+            blocks = Arrays.copyOf(blocks, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+        }
+        System.arraycopy(blocks, position, blocks, position + 1, blockCount - position);
+        System.arraycopy(sizes, position, sizes, position + 1, blockCount - position);
+        blocks[position] = rows;
+        sizes[position] = size;
+        blockCount++;
+    }
+
+    private void removeBlock(int position) {
+        System.arraycopy(blocks, position + 1, blocks, position, blockCount - position - 1);
+        System.arraycopy(sizes, position + 1, sizes, position, blockCount - position - 1);
+        blocks[--blockCount] = null;
+    }
+
+    @FunctionalInterface
+    interface RowOrder {
+
+        int compare(int row, int other);
+
+    }
+
+}
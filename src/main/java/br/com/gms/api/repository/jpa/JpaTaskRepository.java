@@ -0,0 +1,227 @@
+package br.com.gms.api.repository.jpa;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.gms.api.model.Task;
+import br.com.gms.api.repository.TaskRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Repository
+@ConditionalOnProperty(name = "api.task.store", havingValue = "jpa")
+public class JpaTaskRepository implements TaskRepository, MeterBinder {
+
+    private final TaskJpaRepository entities;
+    private final AtomicLong modifications = new AtomicLong();
+
+    public JpaTaskRepository(TaskJpaRepository entities) {
+        this.entities = entities;
+    }
+
+    @Override
+    @Transactional
+    public Task save(Task task) {
+        entities.findById(task.getId())
+                .ifPresentOrElse(entity -> entity.apply(task), () -> entities.save(TaskEntity.from(task)));
+        modified();
+        return task;
+    }
+
+    @Override
+    @Transactional
+    public List<Task> saveAll(Collection<Task> tasks) {
+        Map<UUID, TaskEntity> existing = entities.findAllById(tasks.stream().map(Task::getId).toList()).stream()
+                .collect(Collectors.toMap(TaskEntity::getId, Function.identity()));
+
+        List<TaskEntity> inserts = new ArrayList<>();
+        for (Task task : tasks) {
+            TaskEntity entity = existing.get(task.getId());
+            if (entity == null) {
+                inserts.add(TaskEntity.from(task));
+            } else {
+                entity.apply(task);
+            }
+        }
+        entities.saveAll(inserts);
+        modified();
+        return List.copyOf(tasks);
+    }
+
+    @Override
+    @Transactional
+    public boolean compareAndSave(Task task, long expectedVersion) {
+        if (!updateIfVersion(task, expectedVersion)) {
+            return false;
+        }
+        modified();
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public Set<UUID> compareAndSaveAll(Collection<Task> tasks, Map<UUID, Long> expectedVersions) {
+        Set<UUID> saved = new HashSet<>();
+        for (Task task : tasks) {
+            if (updateIfVersion(task, expectedVersions.get(task.getId()))) {
+                saved.add(task.getId());
+            }
+        }
+        if (!saved.isEmpty()) {
+            modified();
+        }
+        return saved;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Task> findById(UUID id) {
+        return entities.findById(id).map(TaskEntity::toTask);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Task> findAllById(Collection<UUID> ids) {
+        return toTasks(entities.findAllById(ids));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Task> findAll() {
+        return toTasks(entities.findAll());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Task> findPage(UUID after, int limit) {
+        return toTasks(after == null
+                ? entities.findAllByOrderByIdAsc(Limit.of(limit))
+                : entities.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Task> findByScheduledDate(LocalDateTime scheduledDate) {
+        return toTasks(scheduledDate == null
+                ? entities.findByScheduledDateIsNull()
+                : entities.findByScheduledDate(scheduledDate));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Task> findByScheduledDateBetween(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null) {
+            return toTasks(entities
+                    .findByScheduledDateGreaterThanEqualAndScheduledDateLessThanOrderByScheduledDateAscIdAsc(from, to));
+        }
+        if (from != null) {
+            return toTasks(entities.findByScheduledDateGreaterThanEqualOrderByScheduledDateAscIdAsc(from));
+        }
+        if (to != null) {
+            return toTasks(entities.findByScheduledDateLessThanOrderByScheduledDateAscIdAsc(to));
+        }
+        return toTasks(entities.findByScheduledDateIsNotNullOrderByScheduledDateAscIdAsc());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Task> findByCompleted(boolean completed) {
+        return toTasks(entities.findByCompleted(completed));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countByCompleted(boolean completed) {
+        return entities.countByCompleted(completed);
+    }
+
+    @Override
+    @Transactional
+    public Optional<Task> deleteById(UUID id) {
+        // A leitura trava a linha até o fim da transação, então a versão
+        // devolvida é exatamente a que o delete remove
+        Optional<Task> deleted = entities.findForUpdate(id).map(TaskEntity::toTask);
+        if (deleted.isEmpty() || entities.deleteTask(id) == 0) {
+            return Optional.empty();
+        }
+        modified();
+        return deleted;
+    }
+
+    @Override
+    @Transactional
+    public List<Task> deleteAllById(Collection<UUID> ids) {
+        List<Task> existing = toTasks(entities.findAllForUpdate(ids));
+        if (!existing.isEmpty()) {
+            entities.deleteAllByIdInBatch(existing.stream().map(Task::getId).toList());
+            modified();
+        }
+        return existing;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long count() {
+        return entities.count();
+    }
+
+    @Override
+    public long modificationCount() {
+        return modifications.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tasks.store.size", entities, TaskJpaRepository::count)
+                .tag("store", "jpa")
+                .register(registry);
+    }
+
+    /**
+     * Conta a alteração só depois do commit: contada antes, um leitor poderia
+     * ler o contador novo com os dados antigos e guardar o corpo velho sob a
+     * ETag nova; numa transação desfeita, a ETag mudaria à toa.
+     */
+    private void modified() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            modifications.incrementAndGet();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+                modifications.incrementAndGet();
+            }
+
+        });
+    }
+
+    private boolean updateIfVersion(Task task, long expectedVersion) {
+        return entities.updateIfVersion(task.getId(), task.getDescription(), task.getScheduledDate(),
+                Boolean.TRUE.equals(task.getCompleted()), task.getVersion(), expectedVersion) == 1;
+    }
+
+    private List<Task> toTasks(List<TaskEntity> found) {
+        return found.stream().map(TaskEntity::toTask).toList();
+    }
+
+}
@@ -0,0 +1,87 @@
+package br.com.gms.api.repository.jpa;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.hibernate.annotations.FractionalSeconds;
+import org.springframework.data.domain.Persistable;
+
+import br.com.gms.api.model.Task;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+
+@Entity
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_scheduled_date", columnList = "scheduled_date"),
+        @Index(name = "idx_tasks_completed", columnList = "completed")
+})
+public class TaskEntity implements Persistable<UUID> {
+
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private String description;
+
+    @FractionalSeconds(9)
+    @Column(name = "scheduled_date")
+    private LocalDateTime scheduledDate;
+
+    @FractionalSeconds(9)
+    @Column(name = "creation_date", nullable = false)
+    private LocalDateTime creationDate;
+
+    @Column(nullable = false)
+    private boolean completed;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Transient
+    private boolean isNew = true;
+
+    protected TaskEntity() {
+    }
+
+    public static TaskEntity from(Task task) {
+        TaskEntity entity = new TaskEntity();
+        entity.id = task.getId();
+        entity.creationDate = task.getCreationDate();
+        return entity.apply(task);
+    }
+
+    public TaskEntity apply(Task task) {
+        this.description = task.getDescription();
+        this.scheduledDate = task.getScheduledDate();
+        this.completed = Boolean.TRUE.equals(task.getCompleted());
+        this.version = task.getVersion();
+        return this;
+    }
+
+    public Task toTask() {
+        return Task.restore(id, description, scheduledDate, creationDate, completed, version);
+    }
+
+    @Override
+    public UUID getId() {
+        return id;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+}
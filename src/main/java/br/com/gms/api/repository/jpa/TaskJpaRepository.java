@@ -0,0 +1,62 @@
+package br.com.gms.api.repository.jpa;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import jakarta.persistence.LockModeType;
+
+public interface TaskJpaRepository extends JpaRepository<TaskEntity, UUID> {
+
+    List<TaskEntity> findAllByOrderByIdAsc(Limit limit);
+
+    List<TaskEntity> findByIdGreaterThanOrderByIdAsc(UUID after, Limit limit);
+
+    List<TaskEntity> findByScheduledDate(LocalDateTime scheduledDate);
+
+    List<TaskEntity> findByScheduledDateIsNull();
+
+    List<TaskEntity> findByScheduledDateIsNotNullOrderByScheduledDateAscIdAsc();
+
+    List<TaskEntity> findByScheduledDateGreaterThanEqualOrderByScheduledDateAscIdAsc(LocalDateTime from);
+
+    List<TaskEntity> findByScheduledDateLessThanOrderByScheduledDateAscIdAsc(LocalDateTime to);
+
+    List<TaskEntity> findByScheduledDateGreaterThanEqualAndScheduledDateLessThanOrderByScheduledDateAscIdAsc(
+            LocalDateTime from, LocalDateTime to);
+
+    List<TaskEntity> findByCompleted(boolean completed);
+
+    long countByCompleted(boolean completed);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from TaskEntity t where t.id = :id")
+    Optional<TaskEntity> findForUpdate(UUID id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from TaskEntity t where t.id in :ids")
+    List<TaskEntity> findAllForUpdate(Collection<UUID> ids);
+
+    @Modifying
+    @Query("""
+            update TaskEntity t
+            set t.description = :description, t.scheduledDate = :scheduledDate, t.completed = :completed,
+                t.version = :version
+            where t.id = :id and t.version = :expectedVersion
+            """)
+    int updateIfVersion(UUID id, String description, LocalDateTime scheduledDate, boolean completed, long version,
+            long expectedVersion);
+
+    @Modifying
+    @Query("delete from TaskEntity t where t.id = :id")
+    int deleteTask(UUID id);
+
+}
@@ -0,0 +1,77 @@
+package br.com.gms.api.repository.partition;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Anel de hash consistente com nós virtuais: cada shard ocupa vários pontos
+ * do anel e uma chave pertence ao primeiro ponto no sentido horário. Ao
+ * incluir ou retirar um shard, só ~1/N das chaves mudam de dono.
+ */
+public final class ConsistentHashRing<N> {
+
+    private final long[] points;
+    private final int[] owners;
+    private final List<N> nodes;
+
+    public ConsistentHashRing(List<String> names, List<N> nodes, int virtualNodes) {
+        if (names.isEmpty() || names.size() != nodes.size() || virtualNodes < 1) {
+            throw new IllegalArgumentException("Anel precisa de ao menos um nó e um nó virtual por nó");
+        }
+        this.nodes = List.copyOf(nodes);
+
+        int size = names.size() * virtualNodes;
+        long[] keys = new long[size];
+        for (int node = 0; node < names.size(); node++) {
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                keys[node * virtualNodes + replica] = hash(names.get(node) + "#" + replica);
+            }
+        }
+        Integer[] order = new Integer[size];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, (a, b) -> Long.compare(keys[a], keys[b]));
+
+        this.points = new long[size];
+        this.owners = new int[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = keys[order[i]];
+            owners[i] = order[i] / virtualNodes;
+        }
+    }
+
+    public N owner(UUID id) {
+        return nodes.get(ownerIndex(id));
+    }
+
+    public int ownerIndex(UUID id) {
+        int position = Arrays.binarySearch(points, mix(id.getMostSignificantBits() ^ mix(id.getLeastSignificantBits())));
+        if (position < 0) {
+            position = -position - 1;
+        }
+        return owners[position == points.length ? 0 : position];
+    }
+
+    public List<N> nodes() {
+        return nodes;
+    }
+
+    private static long hash(String name) {
+        // FNV-1a de 64 bits seguido de mistura, para espalhar nomes parecidos
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        // Finalizador do SplitMix64
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+}
@@ -0,0 +1,300 @@
+package br.com.gms.api.repository.partition;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import br.com.gms.api.model.Task;
+import br.com.gms.api.repository.InMemoryTaskRepository;
+import br.com.gms.api.repository.TaskRepository;
+import br.com.gms.api.repository.wal.MappedTaskJournal;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Repository
+@ConditionalOnProperty(name = "api.task.store", havingValue = "partitioned")
+public class PartitionedTaskRepository implements TaskRepository, MeterBinder, DisposableBean {
+
+    private static final Comparator<Task> BY_ID = Comparator.comparing(Task::getId);
+    private static final Comparator<Task> BY_SCHEDULED_DATE = Comparator.comparing(Task::getScheduledDate)
+            .thenComparing(Task::getId);
+
+    private final List<String> names;
+    private final ConsistentHashRing<TaskRepository> ring;
+    private final List<MappedTaskJournal> journals;
+    // Pool próprio para as consultas e escritas espalhadas pelos shards: o
+    // ForkJoinPool comum é dividido com o resto da JVM e não deve bloquear
+    // esperando o log de escrita
+    private final ThreadPoolExecutor executor;
+
+    @Autowired
+    public PartitionedTaskRepository(
+            @Value("${api.task.partitions.count:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int partitions,
+            @Value("${api.task.partitions.virtual-nodes:128}") int virtualNodes,
+            ObjectProvider<MappedTaskJournal> journal) {
+        this(inMemoryShards(partitions, journal.getIfAvailable()), virtualNodes);
+    }
+
+    public PartitionedTaskRepository(int partitions, int virtualNodes) {
+        this(inMemoryShards(partitions, null), virtualNodes);
+    }
+
+    public PartitionedTaskRepository(Map<String, TaskRepository> shards, int virtualNodes) {
+        this(new Shards(shards, List.of()), virtualNodes);
+    }
+
+    private PartitionedTaskRepository(Shards shards, int virtualNodes) {
+        this.names = List.copyOf(shards.repositories().keySet());
+        this.ring = new ConsistentHashRing<>(names, List.copyOf(shards.repositories().values()), virtualNodes);
+        this.journals = shards.journals();
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(names.size(), names.size(), 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> Thread.ofPlatform().daemon()
+                        .name("task-partition-" + threads.getAndIncrement()).unstarted(runnable));
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public Task save(Task task) {
+        return ring.owner(task.getId()).save(task);
+    }
+
+    @Override
+    public List<Task> saveAll(Collection<Task> tasks) {
+        fanOut(partition(tasks, Task::getId).entrySet(), owned -> owned.getKey().saveAll(owned.getValue()));
+        return List.copyOf(tasks);
+    }
+
+    @Override
+    public boolean compareAndSave(Task task, long expectedVersion) {
+        return ring.owner(task.getId()).compareAndSave(task, expectedVersion);
+    }
+
+    @Override
+    public Set<UUID> compareAndSaveAll(Collection<Task> tasks, Map<UUID, Long> expectedVersions) {
+        return union(partition(tasks, Task::getId), (shard, owned) -> shard.compareAndSaveAll(owned, expectedVersions));
+    }
+
+    @Override
+    public Optional<Task> findById(UUID id) {
+        return ring.owner(id).findById(id);
+    }
+
+    @Override
+    public List<Task> findAllById(Collection<UUID> ids) {
+        return concat(fanOut(partition(ids, Function.identity()).entrySet(),
+                owned -> owned.getKey().findAllById(owned.getValue())));
+    }
+
+    @Override
+    public List<Task> findAll() {
+        return gather(TaskRepository::findAll);
+    }
+
+    @Override
+    public List<Task> findPage(UUID after, int limit) {
+        // Cada shard devolve sua própria página ordenada por id; a página
+        // global são os `limit` menores ids entre elas
+        List<Task> candidates = gather(shard -> shard.findPage(after, limit));
+        candidates.sort(BY_ID);
+        return List.copyOf(candidates.subList(0, Math.min(limit, candidates.size())));
+    }
+
+    @Override
+    public List<Task> findByScheduledDate(LocalDateTime scheduledDate) {
+        return gather(shard -> shard.findByScheduledDate(scheduledDate));
+    }
+
+    @Override
+    public List<Task> findByScheduledDateBetween(LocalDateTime from, LocalDateTime to) {
+        // As listas já vêm ordenadas; o TimSort as reconhece como sequências
+        // e faz apenas a intercalação
+        List<Task> found = gather(shard -> shard.findByScheduledDateBetween(from, to));
+        found.sort(BY_SCHEDULED_DATE);
+        return found;
+    }
+
+    @Override
+    public List<Task> findByCompleted(boolean completed) {
+        return gather(shard -> shard.findByCompleted(completed));
+    }
+
+    @Override
+    public long countByCompleted(boolean completed) {
+        return ring.nodes().stream().mapToLong(shard -> shard.countByCompleted(completed)).sum();
+    }
+
+    @Override
+    public Optional<Task> deleteById(UUID id) {
+        return ring.owner(id).deleteById(id);
+    }
+
+    @Override
+    public List<Task> deleteAllById(Collection<UUID> ids) {
+        return concat(fanOut(partition(ids, Function.identity()).entrySet(),
+                owned -> owned.getKey().deleteAllById(owned.getValue())));
+    }
+
+    @Override
+    public long count() {
+        return ring.nodes().stream().mapToLong(TaskRepository::count).sum();
+    }
+
+    @Override
+    public long modificationCount() {
+        return ring.nodes().stream().mapToLong(TaskRepository::modificationCount).sum();
+    }
+
+    public TaskRepository shardOf(UUID id) {
+        return ring.owner(id);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        for (MappedTaskJournal journal : journals) {
+            journal.destroy();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tasks.store.size", this, PartitionedTaskRepository::count)
+                .tag("store", "partitioned")
+                .register(registry);
+        for (int i = 0; i < names.size(); i++) {
+            TaskRepository shard = ring.nodes().get(i);
+            Gauge.builder("tasks.partition.size", shard, TaskRepository::count)
+                    .tag("partition", names.get(i))
+                    .register(registry);
+        }
+    }
+
+    private <T> Map<TaskRepository, List<T>> partition(Collection<T> items, Function<T, UUID> id) {
+        Map<TaskRepository, List<T>> partitions = new LinkedHashMap<>();
+        for (T item : items) {
+            partitions.computeIfAbsent(ring.owner(id.apply(item)), shard -> new ArrayList<>()).add(item);
+        }
+        return partitions;
+    }
+
+    private List<Task> gather(Function<TaskRepository, List<Task>> query) {
+        // Cada shard tem seus próprios índices, então as consultas não disputam
+        // nada entre si e podem rodar em paralelo
+        return concat(fanOut(ring.nodes(), query));
+    }
+
+    private <T> Set<UUID> union(Map<TaskRepository, List<T>> partitions,
+            BiFunction<TaskRepository, List<T>, Set<UUID>> operation) {
+        Set<UUID> result = new HashSet<>();
+        fanOut(partitions.entrySet(), owned -> operation.apply(owned.getKey(), owned.getValue()))
+                .forEach(result::addAll);
+        return result;
+    }
+
+    /**
+     * Aplica a operação a cada item no pool das partições; o primeiro roda na
+     * própria thread, que de outro modo só ficaria esperando.
+     */
+    private <T, R> List<R> fanOut(Collection<T> items, Function<T, R> operation) {
+        Iterator<T> iterator = items.iterator();
+        if (!iterator.hasNext()) {
+            return new ArrayList<>();
+        }
+        T first = iterator.next();
+        List<Future<R>> futures = new ArrayList<>(items.size() - 1);
+        while (iterator.hasNext()) {
+            T item = iterator.next();
+            futures.add(executor.submit(() -> operation.apply(item)));
+        }
+
+        List<R> results = new ArrayList<>(items.size());
+        results.add(operation.apply(first));
+        for (Future<R> future : futures) {
+            results.add(join(future));
+        }
+        return results;
+    }
+
+    private static <R> R join(Future<R> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando as partições", ex);
+        }
+    }
+
+    private static List<Task> concat(List<List<Task>> parts) {
+        List<Task> found = new ArrayList<>(parts.stream().mapToInt(List::size).sum());
+        parts.forEach(found::addAll);
+        return found;
+    }
+
+    private static Shards inMemoryShards(int partitions, MappedTaskJournal journal) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("api.task.partitions.count deve ser positivo: " + partitions);
+        }
+        Map<String, TaskRepository> shards = new LinkedHashMap<>();
+        IntStream.range(0, partitions).forEach(i -> shards.put("shard-" + i, null));
+        if (journal == null) {
+            shards.replaceAll((name, shard) -> new InMemoryTaskRepository());
+            return new Shards(shards, List.of());
+        }
+
+        // O anel distribui os ids conforme a quantidade de partições; com outra
+        // quantidade, parte das tarefas seria procurada no shard errado
+        Set<String> existing = journal.partitions();
+        if (!existing.isEmpty() && !existing.equals(shards.keySet())) {
+            throw new IllegalStateException("Os logs de escrita existentes são das partições " + new TreeSet<>(existing)
+                    + "; api.task.partitions.count não pode mudar para " + partitions + " sem migrar os dados");
+        }
+        List<MappedTaskJournal> journals = new ArrayList<>(partitions);
+        shards.replaceAll((name, shard) -> {
+            MappedTaskJournal owned = journal.partition(name);
+            journals.add(owned);
+            return new InMemoryTaskRepository(owned);
+        });
+        return new Shards(shards, List.copyOf(journals));
+    }
+
+    private record Shards(Map<String, TaskRepository> repositories, List<MappedTaskJournal> journals) {
+    }
+
+}
@@ -0,0 +1,500 @@
+package br.com.gms.api.repository.wal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import br.com.gms.api.model.Task;
+import br.com.gms.api.repository.TaskJournal;
+
+@Component
+@ConditionalOnProperty(name = "api.task.wal.enabled", havingValue = "true")
+public class MappedTaskJournal implements TaskJournal, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedTaskJournal.class);
+
+    private static final int SNAPSHOT_MAGIC = 0x54534b53;
+    private static final int RECORD_HEADER = 2 * Integer.BYTES;
+    private static final int IO_BUFFER = 1 << 20;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final Duration snapshotInterval;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    // Trava e condições em vez de monitor: quem espera pelo fsync costuma ser
+    // uma thread virtual, e wait() dentro de synchronized prende o carrier
+    private final ReentrantLock durability = new ReentrantLock();
+    private final Condition flushRequested = durability.newCondition();
+    private final Condition flushed = durability.newCondition();
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    // Registros já no log cuja alteração ainda não apareceu em tasks
+    private final LongAdder unpublished = new LongAdder();
+
+    private Segment current;
+    private volatile long appended;
+    private volatile long durable;
+    private volatile long snapshotted;
+    private volatile boolean closed;
+
+    private Iterable<Task> tasks;
+    private Thread flusher;
+    private ScheduledExecutorService snapshots;
+
+    public MappedTaskJournal(@Value("${api.task.wal.directory:./data/wal}") Path directory,
+            @Value("${api.task.wal.segment-size:64MB}") DataSize segmentSize,
+            @Value("${api.task.wal.snapshot-interval:5m}") Duration snapshotInterval) {
+        this.directory = directory;
+        this.segmentSize = Math.toIntExact(segmentSize.toBytes());
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    /**
+     * Log independente para uma partição, num subdiretório deste e com a
+     * mesma configuração; quem o cria é responsável por fechá-lo.
+     */
+    public MappedTaskJournal partition(String name) {
+        return new MappedTaskJournal(directory.resolve(name), DataSize.ofBytes(segmentSize), snapshotInterval);
+    }
+
+    /**
+     * Nomes das partições que já têm log neste diretório.
+     */
+    public Set<String> partitions() {
+        if (!Files.isDirectory(directory)) {
+            return Set.of();
+        }
+        try (Stream<Path> children = Files.list(directory)) {
+            return children.filter(Files::isDirectory).map(MappedTaskJournal::name).collect(Collectors.toSet());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void open(Consumer<Task> restore, Consumer<UUID> remove, Iterable<Task> tasks) {
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> leftovers = Files.list(directory)) {
+                for (Path tmp : leftovers.filter(path -> name(path).endsWith(".tmp")).toList()) {
+                    Files.delete(tmp);
+                }
+            }
+
+            snapshotted = loadSnapshot(restore, remove);
+            long next = Math.max(snapshotted, replay(snapshotted, restore, remove));
+            current = openSegment(next);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        this.tasks = tasks;
+        this.appended = current.start();
+        this.durable = appended;
+
+        flusher = Thread.ofPlatform().daemon().name("task-journal-flusher").start(this::flushLoop);
+        snapshots = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("task-journal-snapshot").factory());
+        snapshots.scheduleWithFixedDelay(this::snapshotQuietly, snapshotInterval.toMillis(),
+                snapshotInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public long saved(Task task) {
+        return append(TaskRecords.saved(task));
+    }
+
+    @Override
+    public long deleted(UUID id) {
+        return append(TaskRecords.deleted(id));
+    }
+
+    @Override
+    public void published() {
+        unpublished.decrement();
+    }
+
+    @Override
+    public void awaitDurable(long position) {
+        if (position <= durable) {
+            return;
+        }
+        durability.lock();
+        try {
+            flushRequested.signal();
+            while (durable < position) {
+                if (flusher == null || !flusher.isAlive()) {
+                    throw new IllegalStateException("Log de escrita fechado");
+                }
+                flushed.await();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando o log de escrita", ex);
+        } finally {
+            durability.unlock();
+        }
+    }
+
+    public void snapshot() throws IOException {
+        snapshotLock.lock();
+        try {
+            writeSnapshot();
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    private void writeSnapshot() throws IOException {
+        long position = publishedPosition();
+        if (position == snapshotted) {
+            return;
+        }
+
+        Path target = directory.resolve("snapshot-%020d.bin".formatted(position));
+        Path tmp = target.resolveSibling(name(target) + ".tmp");
+        CRC32C crc = new CRC32C();
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            BufferedOutputStream buffered = new BufferedOutputStream(Channels.newOutputStream(channel), IO_BUFFER);
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(buffered, crc));
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(position);
+            for (Task task : tasks) {
+                ByteBuffer record = TaskRecords.saved(task);
+                out.writeInt(record.remaining());
+                out.write(record.array(), 0, record.remaining());
+            }
+            out.writeInt(0);
+            new DataOutputStream(buffered).writeLong(crc.getValue());
+            buffered.flush();
+            channel.force(true);
+        }
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory();
+
+        snapshotted = position;
+        truncate(position);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        closed = true;
+        if (snapshots != null) {
+            snapshots.shutdown();
+            snapshots.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        if (flusher != null) {
+            durability.lock();
+            try {
+                flushRequested.signal();
+            } finally {
+                durability.unlock();
+            }
+            flusher.join();
+        }
+
+        appendLock.lock();
+        try {
+            for (Segment segment : segments) {
+                segment.close();
+            }
+            segments.clear();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private long append(ByteBuffer record) {
+        CRC32C crc = new CRC32C();
+        crc.update(record.duplicate());
+        int size = RECORD_HEADER + record.remaining();
+        if (size > segmentSize) {
+            throw new IllegalArgumentException("Registro maior que o segmento do log: " + size + " bytes");
+        }
+
+        appendLock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Log de escrita fechado");
+            }
+            if (current.buffer().remaining() < size) {
+                current.buffer().force();
+                current = openSegment(current.end());
+            }
+            current.buffer().putInt(record.remaining()).putInt((int) crc.getValue()).put(record);
+            appended = current.start() + current.buffer().position();
+            unpublished.increment();
+            return appended;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Posição até a qual toda alteração gravada já está visível em tasks. O
+     * snapshot percorre as tarefas depois de ler a posição, e o replay recomeça
+     * dela: um registro anterior a ela cuja alteração ainda não estivesse no
+     * mapa ficaria fora dos dois. Segura novas gravações e espera as que estão
+     * em voo, que só precisam sair do compute para publicar.
+     */
+    private long publishedPosition() {
+        appendLock.lock();
+        try {
+            while (unpublished.sum() > 0) {
+                Thread.onSpinWait();
+                Thread.yield();
+            }
+            return appended;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            durability.lock();
+            try {
+                while (!closed && durable >= appended) {
+                    flushRequested.await();
+                }
+                if (closed && durable >= appended) {
+                    flushed.signalAll();
+                    return;
+                }
+            } catch (InterruptedException ex) {
+                return;
+            } finally {
+                durability.unlock();
+            }
+
+            long target;
+            Segment segment;
+            appendLock.lock();
+            try {
+                target = appended;
+                segment = current;
+            } finally {
+                appendLock.unlock();
+            }
+
+            segment.buffer().force();
+            durability.lock();
+            try {
+                durable = target;
+                flushed.signalAll();
+            } finally {
+                durability.unlock();
+            }
+        }
+    }
+
+    private long loadSnapshot(Consumer<Task> restore, Consumer<UUID> remove) throws IOException {
+        List<Path> found = files("snapshot-", ".bin");
+        if (found.isEmpty()) {
+            return 0;
+        }
+
+        Path latest = found.get(found.size() - 1);
+        CRC32C crc = new CRC32C();
+        try (BufferedInputStream buffered = new BufferedInputStream(Files.newInputStream(latest), IO_BUFFER)) {
+            DataInputStream in = new DataInputStream(new CheckedInputStream(buffered, crc));
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IllegalStateException("Snapshot inválido: " + latest);
+            }
+
+            long position = in.readLong();
+            byte[] record = new byte[256];
+            for (int length = in.readInt(); length > 0; length = in.readInt()) {
+                if (record.length < length) {
+                    record = new byte[Math.max(length, record.length * 2)];
+                }
+                in.readFully(record, 0, length);
+                TaskRecords.apply(ByteBuffer.wrap(record, 0, length), restore, remove);
+            }
+
+            if (new DataInputStream(buffered).readLong() != crc.getValue()) {
+                throw new IllegalStateException("Snapshot corrompido: " + latest);
+            }
+            return position;
+        }
+    }
+
+    private long replay(long from, Consumer<Task> restore, Consumer<UUID> remove) throws IOException {
+        List<Path> found = files("segment-", ".log");
+        long end = 0;
+
+        for (int i = 0; i < found.size(); i++) {
+            Path path = found.get(i);
+            long start = start(path);
+            long size;
+            int valid = -1;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                size = channel.size();
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+                while (buffer.remaining() >= RECORD_HEADER) {
+                    int offset = buffer.position();
+                    int length = buffer.getInt();
+                    if (length <= 0) {
+                        break;
+                    }
+                    int checksum = buffer.getInt();
+                    if (length > buffer.remaining()) {
+                        valid = offset;
+                        break;
+                    }
+
+                    ByteBuffer record = buffer.slice(buffer.position(), length);
+                    CRC32C crc = new CRC32C();
+                    crc.update(record.duplicate());
+                    if ((int) crc.getValue() != checksum) {
+                        valid = offset;
+                        break;
+                    }
+                    if (start + offset >= from) {
+                        TaskRecords.apply(record, restore, remove);
+                    }
+                    buffer.position(buffer.position() + length);
+                }
+            }
+
+            if (valid >= 0) {
+                if (i < found.size() - 1) {
+                    throw new IllegalStateException("Log de escrita corrompido: " + path);
+                }
+                // Corta o registro rasgado: o próximo segmento começa depois deste,
+                // que deixa de ser o último e precisa ser lido sem erro nas próximas subidas
+                log.warn("Descartando registro incompleto no fim do log de escrita {} (posição {})", path, valid);
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                    channel.truncate(valid);
+                    channel.force(true);
+                }
+                size = valid;
+            }
+            end = start + size;
+            segments.addLast(new Segment(path, start, end, null, null));
+        }
+        return end;
+    }
+
+    private void truncate(long position) throws IOException {
+        appendLock.lock();
+        try {
+            while (segments.size() > 1 && segments.peekFirst().end() <= position) {
+                Segment segment = segments.pollFirst();
+                segment.close();
+                Files.deleteIfExists(segment.path());
+            }
+        } finally {
+            appendLock.unlock();
+        }
+
+        for (Path old : files("snapshot-", ".bin")) {
+            if (start(old) < position) {
+                Files.deleteIfExists(old);
+            }
+        }
+    }
+
+    private Segment openSegment(long start) throws IOException {
+        Path path = directory.resolve("segment-%020d.log".formatted(start));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        forceDirectory();
+
+        Segment segment = new Segment(path, start, start + segmentSize, channel, buffer);
+        segments.addLast(segment);
+        return segment;
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Falha ao gravar snapshot das tarefas em {}", directory, ex);
+        }
+    }
+
+    private void forceDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ex) {
+            // Nem todo sistema de arquivos permite sincronizar diretórios
+        }
+    }
+
+    private List<Path> files(String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> name(path).startsWith(prefix) && name(path).endsWith(suffix))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long start(Path path) {
+        String name = name(path);
+        return Long.parseLong(name.substring(name.indexOf('-') + 1, name.indexOf('.')));
+    }
+
+    private static String name(Path path) {
+        return path.getFileName().toString();
+    }
+
+    private record Segment(Path path, long start, long end, FileChannel channel, MappedByteBuffer buffer) {
+
+        void close() {
+            if (channel == null) {
+                return;
+            }
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,84 @@
+package br.com.gms.api.repository.wal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import br.com.gms.api.model.Task;
+
+final class TaskRecords {
+
+    static final byte SAVED = 1;
+    static final byte DELETED = 2;
+
+    private static final int ID_SIZE = 2 * Long.BYTES;
+    private static final int DATE_SIZE = 1 + Long.BYTES + Integer.BYTES;
+
+    private TaskRecords() {
+    }
+
+    static ByteBuffer saved(Task task) {
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer record = ByteBuffer.allocate(1 + ID_SIZE + Long.BYTES + 1 + 2 * DATE_SIZE + Integer.BYTES
+                + description.length);
+        record.put(SAVED);
+        putId(record, task.getId());
+        record.putLong(task.getVersion());
+        record.put(Boolean.TRUE.equals(task.getCompleted()) ? (byte) 1 : (byte) 0);
+        putDate(record, task.getCreationDate());
+        putDate(record, task.getScheduledDate());
+        record.putInt(description.length).put(description);
+        return record.flip();
+    }
+
+    static ByteBuffer deleted(UUID id) {
+        ByteBuffer record = ByteBuffer.allocate(1 + ID_SIZE);
+        record.put(DELETED);
+        putId(record, id);
+        return record.flip();
+    }
+
+    static void apply(ByteBuffer record, Consumer<Task> restore, Consumer<UUID> remove) {
+        byte type = record.get();
+        UUID id = new UUID(record.getLong(), record.getLong());
+        if (type == DELETED) {
+            remove.accept(id);
+            return;
+        }
+        if (type != SAVED) {
+            throw new IllegalStateException("Tipo de registro desconhecido: " + type);
+        }
+
+        long version = record.getLong();
+        boolean completed = record.get() == 1;
+        LocalDateTime creationDate = getDate(record);
+        LocalDateTime scheduledDate = getDate(record);
+        byte[] description = new byte[record.getInt()];
+        record.get(description);
+        restore.accept(Task.restore(id, new String(description, StandardCharsets.UTF_8), scheduledDate, creationDate,
+                completed, version));
+    }
+
+    private static void putId(ByteBuffer record, UUID id) {
+        record.putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits());
+    }
+
+    private static void putDate(ByteBuffer record, LocalDateTime date) {
+        if (date == null) {
+            record.put((byte) 0).putLong(0).putInt(0);
+        } else {
+            record.put((byte) 1).putLong(date.toEpochSecond(ZoneOffset.UTC)).putInt(date.getNano());
+        }
+    }
+
+    private static LocalDateTime getDate(ByteBuffer record) {
+        boolean present = record.get() == 1;
+        long seconds = record.getLong();
+        int nanos = record.getInt();
+        return present ? LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC) : null;
+    }
+
+}
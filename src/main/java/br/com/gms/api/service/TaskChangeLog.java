@@ -0,0 +1,68 @@
+package br.com.gms.api.service;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TaskChangeLog {
+
+    private final AtomicReferenceArray<Change> slots;
+    private final int mask;
+    private final long first;
+    private final AtomicLong next;
+    private final Set<Runnable> listeners = ConcurrentHashMap.newKeySet();
+
+    public TaskChangeLog(@Value("${api.task.changes.capacity:65536}") int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("api.task.changes.capacity deve ser potência de 2: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        // Sequências crescem entre reinícios, então um Last-Event-ID antigo
+        // cai antes do início do log em vez de apontar para outro evento
+        this.first = System.currentTimeMillis() * 1000;
+        this.next = new AtomicLong(first);
+    }
+
+    @EventListener
+    public void append(TaskChangedEvent event) {
+        long sequence = next.getAndIncrement();
+        slots.set((int) (sequence & mask), new Change(sequence, event));
+        listeners.forEach(Runnable::run);
+    }
+
+    public long head() {
+        return next.get();
+    }
+
+    public long oldest() {
+        return Math.max(first, next.get() - slots.length());
+    }
+
+    /**
+     * Devolve a mudança com essa sequência, {@code null} se ela ainda não foi
+     * publicada, ou uma mudança de sequência maior se ela já foi sobrescrita.
+     */
+    public Change read(long sequence) {
+        Change change = slots.get((int) (sequence & mask));
+        return change == null || change.sequence() < sequence ? null : change;
+    }
+
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    public record Change(long sequence, TaskChangedEvent event) {
+    }
+
+}
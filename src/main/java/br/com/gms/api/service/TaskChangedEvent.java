@@ -0,0 +1,25 @@
+package br.com.gms.api.service;
+
+import java.util.UUID;
+
+import br.com.gms.api.model.Task;
+
+public record TaskChangedEvent(Type type, UUID id, Task previous, Task current) {
+
+    public enum Type {
+        CREATED, UPDATED, CONCLUDED, REOPENED, DELETED
+    }
+
+    public static TaskChangedEvent created(Task task) {
+        return new TaskChangedEvent(Type.CREATED, task.getId(), null, task);
+    }
+
+    public static TaskChangedEvent changed(Type type, Task previous, Task current) {
+        return new TaskChangedEvent(type, current.getId(), previous, current);
+    }
+
+    public static TaskChangedEvent deleted(UUID id, Task previous) {
+        return new TaskChangedEvent(Type.DELETED, id, previous, null);
+    }
+
+}
@@ -1,72 +1,422 @@
 package br.com.gms.api.service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import br.com.gms.api.exception.BusinessException;
+import br.com.gms.api.exception.NotFoundException;
+import br.com.gms.api.exception.TaskConflictException;
 import br.com.gms.api.exception.TaskNotFoundException;
 import br.com.gms.api.model.Task;
+import br.com.gms.api.model.valueobject.BatchItemResult;
+import br.com.gms.api.model.valueobject.BatchUpdateTaskDTO;
 import br.com.gms.api.model.valueobject.CreateTaskDTO;
+import br.com.gms.api.model.valueobject.TaskFilter;
+import br.com.gms.api.model.valueobject.TaskSearchPage;
+import br.com.gms.api.model.valueobject.TaskStats;
 import br.com.gms.api.model.valueobject.UpdateTaskDTO;
+import br.com.gms.api.repository.TaskRepository;
+import br.com.gms.api.service.search.TaskTextIndex;
+import br.com.gms.api.service.search.TextSearchResult;
+import br.com.gms.api.service.stats.TaskStatistics;
+import io.micrometer.core.annotation.Timed;
 
 @Service
+@Timed(value = "tasks.service", description = "Duração das operações de TaskService")
 public class TaskService {
 
-    private List<Task> tasks = new ArrayList<>();
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int MAX_BATCH_SIZE = 50_000;
 
-    public Task create(CreateTaskDTO dto) {
-        Task task = dto.toTask();
-        tasks.add(task);
+    // Sem histograma de datas, estimamos que um intervalo fechado seleciona
+    // 1/10 das tarefas e um intervalo aberto 1/3, como fazem os planejadores SQL.
+    private static final int BOUNDED_RANGE_SELECTIVITY = 10;
+    private static final int OPEN_RANGE_SELECTIVITY = 3;
+
+    private final TaskRepository repository;
+    private final ApplicationEventPublisher events;
+    private final TaskTextIndex textIndex;
+    private final TaskStatistics statistics;
+
+    public TaskService(TaskRepository repository) {
+        this(repository, new TaskTextIndex(repository), new TaskStatistics(repository));
+    }
 
+    public TaskService(TaskRepository repository, TaskTextIndex textIndex, TaskStatistics statistics) {
+        this(repository, event -> {
+            textIndex.onTaskChanged((TaskChangedEvent) event);
+            statistics.onTaskChanged((TaskChangedEvent) event);
+        }, textIndex, statistics);
+    }
+
+    @Autowired
+    public TaskService(TaskRepository repository, ApplicationEventPublisher events, TaskTextIndex textIndex,
+            TaskStatistics statistics) {
+        this.repository = repository;
+        this.events = events;
+        this.textIndex = textIndex;
+        this.statistics = statistics;
+    }
+
+    public Task create(CreateTaskDTO dto) {
+        Task task = repository.save(dto.toTask());
+        events.publishEvent(TaskChangedEvent.created(task));
         return task;
     }
 
-    public Task update(UUID id, UpdateTaskDTO dto) {
-        Task task = findById(id);
+    public List<BatchItemResult> createAll(List<CreateTaskDTO> dtos) {
+        validateBatchSize(dtos);
+        List<BatchItemResult> results = new ArrayList<>(dtos.size());
+        List<Task> created = new ArrayList<>(dtos.size());
 
-        if (Objects.nonNull(dto.description()) && !Objects.equals(dto.description(), task.getDescription())) {
-            task.changeDescription(dto.description());
+        for (int i = 0; i < dtos.size(); i++) {
+            try {
+                Task task = toTask(dtos.get(i));
+                created.add(task);
+                results.add(BatchItemResult.ok(i, task.getId()));
+            } catch (BusinessException ex) {
+                results.add(BatchItemResult.failed(i, null, ex));
+            }
         }
 
-        if (!Objects.equals(dto.scheduledDate(), task.getScheduledDate())) {
-            task.changeScheduledDate(dto.scheduledDate());
-        }
+        insertAll(created);
+        return results;
+    }
 
-        return task;
+    /**
+     * Grava tarefas já construídas (e portanto validadas) numa única escrita,
+     * como faz a ingestão assíncrona com os lotes que acumula.
+     */
+    public void insertAll(List<Task> tasks) {
+        repository.saveAll(tasks);
+        tasks.forEach(task -> events.publishEvent(TaskChangedEvent.created(task)));
+    }
+
+    public Task update(UUID id, UpdateTaskDTO dto) {
+        return update(id, null, dto);
+    }
+
+    public Task update(UUID id, Long expectedVersion, UpdateTaskDTO dto) {
+        return mutate(id, expectedVersion, TaskChangedEvent.Type.UPDATED,
+                task -> applyUpdate(task, dto.description(), dto.scheduledDate()));
+    }
+
+    /**
+     * Aplica a alteração numa cópia da tarefa, sem gravar, para que quem só
+     * enfileira a escrita recuse na hora o que o caminho síncrono recusaria.
+     */
+    public Task previewUpdate(Task task, UpdateTaskDTO dto) {
+        Task copy = task.copy();
+        applyUpdate(copy, dto.description(), dto.scheduledDate());
+        return copy;
+    }
+
+    public List<BatchItemResult> updateAll(List<BatchUpdateTaskDTO> dtos) {
+        validateBatchSize(dtos);
+        List<UUID> ids = dtos.stream().map(dto -> dto == null ? null : dto.id()).toList();
+        return applyToAll(ids, TaskChangedEvent.Type.UPDATED,
+                (i, task) -> applyUpdate(task, dtos.get(i).description(), dtos.get(i).scheduledDate()));
     }
 
     public void concludeTask(UUID id) {
-        Task task = findById(id);
-        task.conclude();
+        mutate(id, null, TaskChangedEvent.Type.CONCLUDED, Task::conclude);
     }
 
     public void reopenTask(UUID id) {
-        Task task = findById(id);
-        task.reopen();
+        mutate(id, null, TaskChangedEvent.Type.REOPENED, Task::reopen);
+    }
+
+    public List<BatchItemResult> concludeAll(List<UUID> ids) {
+        validateBatchSize(ids);
+        return applyToAll(ids, TaskChangedEvent.Type.CONCLUDED, (i, task) -> task.conclude());
+    }
+
+    public List<BatchItemResult> reopenAll(List<UUID> ids) {
+        validateBatchSize(ids);
+        return applyToAll(ids, TaskChangedEvent.Type.REOPENED, (i, task) -> task.reopen());
     }
 
     public List<Task> findAll() {
-        return List.copyOf(tasks);
+        return repository.findAll();
+    }
+
+    public long modificationCount() {
+        return repository.modificationCount();
+    }
+
+    public List<Task> findPage(UUID after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BusinessException("Limite deve estar entre 1 e " + MAX_PAGE_SIZE);
+        }
+        return repository.findPage(after, limit);
     }
 
     public Task findById(UUID id) {
-        return tasks.stream().filter(t -> t.getId().equals(id)).findFirst()
-                .orElseThrow(() -> new TaskNotFoundException(id));
+        return repository.findById(id).orElseThrow(() -> new TaskNotFoundException(id));
     }
 
     public List<Task> findByScheduledDate(LocalDateTime scheduledDate) {
-        return tasks.stream().filter(
-                t -> Objects.equals(t.getScheduledDate(), scheduledDate))
-                .toList();
+        return repository.findByScheduledDate(scheduledDate);
+    }
+
+    public List<Task> findByScheduledDateBetween(LocalDateTime from, LocalDateTime to) {
+        validateRange(from, to);
+        return repository.findByScheduledDateBetween(from, to);
+    }
+
+    public List<Task> findByScheduledDay(LocalDate day) {
+        return repository.findByScheduledDateBetween(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+    }
+
+    public List<Task> search(TaskFilter filter) {
+        int limit = filter.limit() == null ? MAX_PAGE_SIZE : filter.limit();
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BusinessException("Limite deve estar entre 1 e " + MAX_PAGE_SIZE);
+        }
+        validateRange(filter.scheduledFrom(), filter.scheduledTo());
+        validateRange(filter.createdFrom(), filter.createdTo());
+
+        QueryPlan plan = plan(filter);
+        List<Task> candidates = switch (plan) {
+            case SCHEDULED_DATE_INDEX -> repository.findByScheduledDateBetween(filter.scheduledFrom(), filter.scheduledTo());
+            case COMPLETED_INDEX -> repository.findByCompleted(filter.completed());
+            case SCAN -> repository.findAll();
+        };
+
+        Comparator<Task> order = filter.comparator();
+        if (order == null || plan.deliversOrder(filter)) {
+            return candidates.stream().filter(filter::matches).limit(limit).toList();
+        }
+        return top(candidates, filter, order, limit);
+    }
+
+    public TaskSearchPage searchText(String query, int offset, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new BusinessException("Consulta obrigatória");
+        }
+        if (offset < 0) {
+            throw new BusinessException("Deslocamento não pode ser negativo");
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BusinessException("Limite deve estar entre 1 e " + MAX_PAGE_SIZE);
+        }
+
+        TextSearchResult result = textIndex.search(query, offset, limit);
+        Map<UUID, Task> tasks = new HashMap<>();
+        for (Task task : repository.findAllById(result.matches().stream().map(TextSearchResult.Match::id).toList())) {
+            tasks.put(task.getId(), task);
+        }
+
+        List<TaskSearchPage.ScoredTask> results = new ArrayList<>(result.matches().size());
+        List<UUID> missing = new ArrayList<>();
+        for (TextSearchResult.Match match : result.matches()) {
+            Task task = tasks.get(match.id());
+            if (task == null) {
+                missing.add(match.id());
+            } else {
+                results.add(new TaskSearchPage.ScoredTask(task, match.score()));
+            }
+        }
+        // Um evento de alteração atrasado pode reindexar uma tarefa já removida
+        textIndex.remove(missing);
+        return new TaskSearchPage(result.total() - missing.size(), results);
+    }
+
+    public TaskStats statistics(LocalDate from, LocalDate to) {
+        if (from != null && to != null) {
+            validateRange(from.atStartOfDay(), to.atStartOfDay());
+        }
+        return statistics.snapshot(from, to);
     }
 
     public void deleteById(UUID id) {
-        Task task = findById(id);
-        tasks.remove(task);
+        // A versão removida vem da própria remoção: uma leitura antes dela
+        // poderia perder uma alteração concorrente, e os caches invalidariam
+        // a data antiga em vez da que foi de fato removida
+        Task deleted = repository.deleteById(id).orElseThrow(() -> new TaskNotFoundException(id));
+        events.publishEvent(TaskChangedEvent.deleted(id, deleted));
+    }
+
+    public List<BatchItemResult> deleteAll(List<UUID> ids) {
+        validateBatchSize(ids);
+        List<UUID> requested = ids.stream().filter(Objects::nonNull).toList();
+        Set<UUID> deleted = new HashSet<>();
+        for (Task task : repository.deleteAllById(requested)) {
+            deleted.add(task.getId());
+            events.publishEvent(TaskChangedEvent.deleted(task.getId(), task));
+        }
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+
+        for (int i = 0; i < ids.size(); i++) {
+            UUID id = ids.get(i);
+            if (id == null) {
+                results.add(BatchItemResult.failed(i, null, new BusinessException("Id obrigatório")));
+            } else if (deleted.remove(id)) {
+                results.add(BatchItemResult.ok(i, id));
+            } else {
+                results.add(BatchItemResult.failed(i, id, new TaskNotFoundException(id)));
+            }
+        }
+        return results;
+    }
+
+    private QueryPlan plan(TaskFilter filter) {
+        long total = repository.count();
+        long byCompleted = filter.completed() == null ? total : repository.countByCompleted(filter.completed());
+        long byScheduledDate = total;
+        if (filter.scheduledFrom() != null && filter.scheduledTo() != null) {
+            byScheduledDate = total / BOUNDED_RANGE_SELECTIVITY;
+        } else if (filter.hasScheduledRange()) {
+            byScheduledDate = total / OPEN_RANGE_SELECTIVITY;
+        }
+
+        if (byScheduledDate < total && byScheduledDate <= byCompleted) {
+            return QueryPlan.SCHEDULED_DATE_INDEX;
+        }
+        return byCompleted < total ? QueryPlan.COMPLETED_INDEX : QueryPlan.SCAN;
+    }
+
+    private List<Task> top(List<Task> candidates, TaskFilter filter, Comparator<Task> order, int limit) {
+        PriorityQueue<Task> heap = new PriorityQueue<>(Math.min(limit, candidates.size()) + 1, order.reversed());
+        for (Task task : candidates) {
+            if (!filter.matches(task)) {
+                continue;
+            }
+            if (heap.size() < limit) {
+                heap.add(task);
+            } else if (order.compare(task, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(task);
+            }
+        }
+        List<Task> found = new ArrayList<>(heap);
+        found.sort(order);
+        return found;
+    }
+
+    private void validateRange(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new BusinessException("Data inicial deve ser anterior à data final");
+        }
+    }
+
+    private Task toTask(CreateTaskDTO dto) {
+        if (dto == null) {
+            throw new BusinessException("Descrição obrigatória");
+        }
+        return dto.toTask();
+    }
+
+    private void applyUpdate(Task task, String description, LocalDateTime scheduledDate) {
+        if (Objects.nonNull(description) && !Objects.equals(description, task.getDescription())) {
+            task.changeDescription(description);
+        }
+
+        if (!Objects.equals(scheduledDate, task.getScheduledDate())) {
+            task.changeScheduledDate(scheduledDate);
+        }
+    }
+
+    private Task mutate(UUID id, Long expectedVersion, TaskChangedEvent.Type type, Consumer<Task> mutation) {
+        while (true) {
+            Task current = findById(id);
+            if (expectedVersion != null && current.getVersion() != expectedVersion) {
+                throw new TaskConflictException(id);
+            }
+
+            Task changed = current.copy();
+            mutation.accept(changed);
+            if (repository.compareAndSave(changed, current.getVersion())) {
+                events.publishEvent(TaskChangedEvent.changed(type, current, changed));
+                return changed;
+            }
+            if (expectedVersion != null) {
+                throw new TaskConflictException(id);
+            }
+        }
+    }
+
+    private List<BatchItemResult> applyToAll(List<UUID> ids, TaskChangedEvent.Type type,
+            BiConsumer<Integer, Task> mutation) {
+        Map<UUID, Task> found = new HashMap<>();
+        for (Task task : repository.findAllById(ids.stream().filter(Objects::nonNull).distinct().toList())) {
+            found.put(task.getId(), task);
+        }
+
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        Map<UUID, Task> changed = new LinkedHashMap<>();
+        Map<UUID, Long> expectedVersions = new HashMap<>();
+
+        for (int i = 0; i < ids.size(); i++) {
+            UUID id = ids.get(i);
+            try {
+                if (id == null) {
+                    throw new BusinessException("Id obrigatório");
+                }
+                Task task = changed.get(id);
+                if (task == null) {
+                    Task current = found.get(id);
+                    if (current == null) {
+                        throw new TaskNotFoundException(id);
+                    }
+                    task = current.copy();
+                    expectedVersions.put(id, current.getVersion());
+                }
+                mutation.accept(i, task);
+                changed.put(id, task);
+                results.add(BatchItemResult.ok(i, id));
+            } catch (BusinessException ex) {
+                results.add(BatchItemResult.failed(i, id, ex));
+            } catch (NotFoundException ex) {
+                results.add(BatchItemResult.failed(i, id, ex));
+            }
+        }
+
+        Set<UUID> saved = repository.compareAndSaveAll(changed.values(), expectedVersions);
+        for (int i = 0; i < results.size(); i++) {
+            BatchItemResult result = results.get(i);
+            if (result.status() == BatchItemResult.Status.OK && !saved.contains(result.id())) {
+                results.set(i, BatchItemResult.failed(i, result.id(), new TaskConflictException(result.id())));
+            }
+        }
+        for (UUID id : saved) {
+            events.publishEvent(TaskChangedEvent.changed(type, found.get(id), changed.get(id)));
+        }
+        return results;
+    }
+
+    private void validateBatchSize(List<?> items) {
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new BusinessException("Lote deve ter no máximo " + MAX_BATCH_SIZE + " itens");
+        }
+    }
+
+    private enum QueryPlan {
+
+        SCHEDULED_DATE_INDEX, COMPLETED_INDEX, SCAN;
+
+        boolean deliversOrder(TaskFilter filter) {
+            return this == SCHEDULED_DATE_INDEX && filter.sort() == TaskFilter.SortField.SCHEDULED_DATE
+                    && filter.direction() != TaskFilter.Direction.DESC;
+        }
+
     }
 
 }
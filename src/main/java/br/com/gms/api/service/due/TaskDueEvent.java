@@ -0,0 +1,8 @@
+package br.com.gms.api.service.due;
+
+import java.util.UUID;
+
+import br.com.gms.api.model.Task;
+
+public record TaskDueEvent(UUID id, Task task) {
+}
@@ -0,0 +1,192 @@
+package br.com.gms.api.service.due;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import br.com.gms.api.model.Task;
+import br.com.gms.api.repository.TaskRepository;
+import br.com.gms.api.service.TaskChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Component
+@ConditionalOnProperty(name = "api.task.due.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskDueScheduler implements MeterBinder, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskDueScheduler.class);
+
+    private static final int STRIPES = 32;
+
+    private final TaskRepository repository;
+    private final ApplicationEventPublisher events;
+    private final Clock clock;
+    // Uma roda por faixa de ids: escritas em tarefas diferentes raramente
+    // disputam a mesma trava
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private ScheduledExecutorService timer;
+    private Counter fired;
+
+    @Autowired
+    public TaskDueScheduler(TaskRepository repository, ApplicationEventPublisher events,
+            @Value("${api.task.due.tick:1s}") Duration tick) {
+        this(repository, events, Clock.systemDefaultZone(), tick);
+        timer = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("task-due-wheel").factory());
+        timer.scheduleAtFixedRate(this::advance, tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public TaskDueScheduler(TaskRepository repository, ApplicationEventPublisher events, Clock clock, Duration tick) {
+        this.repository = repository;
+        this.events = events;
+        this.clock = clock;
+        long start = clock.millis();
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(new TimingWheel<>(tick.toMillis(), start));
+        }
+        // Prazos vencidos antes da subida não são disparados de novo a cada reinício
+        for (Task task : repository.findAll()) {
+            if (isPending(task)) {
+                stripe(task.getId()).wheel().schedule(task.getId(), deadline(task.getScheduledDate()));
+            }
+        }
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        Task task = event.current();
+        boolean due;
+        Stripe stripe = stripe(event.id());
+        TimingWheel<UUID> wheel = stripe.wheel();
+        stripe.lock().lock();
+        try {
+            if (task != null && wheel.version(event.id()) > task.getVersion()) {
+                // Evento atrasado: uma versão mais nova já agendou a tarefa e não
+                // pode ser desfeita (um CONCLUDED antigo cancelaria um REOPENED)
+                return;
+            }
+            if (task == null || !isPending(task)) {
+                wheel.cancel(event.id());
+                return;
+            }
+            due = !wheel.schedule(task.getId(), deadline(task.getScheduledDate()), task.getVersion());
+        } finally {
+            stripe.lock().unlock();
+        }
+        if (due) {
+            fire(List.of(task.getId()));
+        }
+    }
+
+    public void advance() {
+        List<UUID> expired = new ArrayList<>();
+        try {
+            long now = clock.millis();
+            for (Stripe stripe : stripes) {
+                stripe.lock().lock();
+                try {
+                    stripe.wheel().advanceTo(now, expired::add);
+                } finally {
+                    stripe.lock().unlock();
+                }
+            }
+            fire(expired);
+        } catch (RuntimeException ex) {
+            // Uma exceção cancelaria as próximas execuções do scheduleAtFixedRate
+            log.error("Falha ao disparar {} tarefas vencidas", expired.size(), ex);
+        }
+    }
+
+    public boolean isScheduled(UUID id) {
+        Stripe stripe = stripe(id);
+        stripe.lock().lock();
+        try {
+            return stripe.wheel().contains(id);
+        } finally {
+            stripe.lock().unlock();
+        }
+    }
+
+    public int pendingCount() {
+        int pending = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock().lock();
+            try {
+                pending += stripe.wheel().size();
+            } finally {
+                stripe.lock().unlock();
+            }
+        }
+        return pending;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tasks.due.pending", this, TaskDueScheduler::pendingCount).register(registry);
+        fired = Counter.builder("tasks.due.fired").register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        if (timer != null) {
+            timer.shutdownNow();
+        }
+    }
+
+    private void fire(List<UUID> expired) {
+        if (expired.isEmpty()) {
+            return;
+        }
+        // Confere o estado atual: um evento atrasado pode ter agendado uma
+        // tarefa que já foi concluída, removida ou reagendada
+        long now = clock.millis();
+        for (Task task : repository.findAllById(expired)) {
+            if (isPending(task) && deadline(task.getScheduledDate()) <= now) {
+                events.publishEvent(new TaskDueEvent(task.getId(), task));
+                if (fired != null) {
+                    fired.increment();
+                }
+            }
+        }
+    }
+
+    private Stripe stripe(UUID id) {
+        int hash = id.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    private boolean isPending(Task task) {
+        return task.getScheduledDate() != null && !Boolean.TRUE.equals(task.getCompleted());
+    }
+
+    private long deadline(LocalDateTime scheduledDate) {
+        return scheduledDate.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+
+    private record Stripe(TimingWheel<UUID> wheel, ReentrantLock lock) {
+
+        private Stripe(TimingWheel<UUID> wheel) {
+            this(wheel, new ReentrantLock());
+        }
+
+    }
+
+}
@@ -0,0 +1,200 @@
+package br.com.gms.api.service.due;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Roda de tempo hierárquica (Varghese e Lauck): quatro níveis de 256
+ * posições, cada um com granularidade 256 vezes maior que o anterior.
+ * Inserir e cancelar são O(1); ao virar uma volta do nível de baixo, a
+ * posição atual do nível de cima é redistribuída. Não é thread-safe.
+ */
+final class TimingWheel<K> {
+
+    private static final int LEVELS = 4;
+    private static final int BITS = 8;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final long HORIZON = 1L << (BITS * LEVELS);
+
+    private final long tickMillis;
+    private final Entry<K>[][] wheels;
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMillis, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        this.wheels = new Entry[LEVELS][SLOTS];
+        for (Entry<K>[] wheel : wheels) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheel[slot] = Entry.sentinel();
+            }
+        }
+    }
+
+    /**
+     * Agenda ou reagenda a chave. Devolve {@code false} se o prazo já venceu,
+     * caso em que nada é agendado.
+     */
+    boolean schedule(K key, long deadlineMillis) {
+        return schedule(key, deadlineMillis, 0);
+    }
+
+    /**
+     * Como {@link #schedule(Object, long)}, guardando a versão de quem agendou
+     * para que eventos atrasados possam ser reconhecidos.
+     */
+    boolean schedule(K key, long deadlineMillis, long version) {
+        Entry<K> entry = entries.get(key);
+        if (entry != null) {
+            entry.version = version;
+            if (entry.deadline == deadlineMillis) {
+                return true;
+            }
+            entry.unlink();
+        } else {
+            entry = new Entry<>(key);
+            entry.version = version;
+        }
+
+        entry.deadline = deadlineMillis;
+        if (!place(entry)) {
+            entries.remove(key);
+            return false;
+        }
+        entries.put(key, entry);
+        return true;
+    }
+
+    boolean cancel(K key) {
+        Entry<K> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        entry.unlink();
+        return true;
+    }
+
+    boolean contains(K key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * Versão com que a chave foi agendada, ou {@link Long#MIN_VALUE} se ela não
+     * está na roda.
+     */
+    long version(K key) {
+        Entry<K> entry = entries.get(key);
+        return entry == null ? Long.MIN_VALUE : entry.version;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    void advanceTo(long nowMillis, Consumer<K> expired) {
+        long target = nowMillis / tickMillis;
+        while (currentTick < target) {
+            currentTick++;
+            cascade(expired);
+            expire(wheels[0][(int) (currentTick & MASK)], expired);
+        }
+    }
+
+    private void cascade(Consumer<K> expired) {
+        // Do nível mais alto para o mais baixo, para que entradas redistribuídas
+        // ainda possam cair em uma posição que será processada neste tick
+        for (int level = LEVELS - 1; level > 0; level--) {
+            if ((currentTick & ((1L << (BITS * level)) - 1)) != 0) {
+                continue;
+            }
+            Entry<K> head = wheels[level][(int) ((currentTick >>> (BITS * level)) & MASK)];
+            Entry<K> entry = head.next;
+            head.next = head;
+            head.previous = head;
+            while (entry != head) {
+                Entry<K> next = entry.next;
+                entry.next = null;
+                entry.previous = null;
+                if (!place(entry)) {
+                    entries.remove(entry.key);
+                    expired.accept(entry.key);
+                }
+                entry = next;
+            }
+        }
+    }
+
+    private void expire(Entry<K> head, Consumer<K> expired) {
+        Entry<K> entry = head.next;
+        while (entry != head) {
+            Entry<K> next = entry.next;
+            entry.unlink();
+            entries.remove(entry.key);
+            expired.accept(entry.key);
+            entry = next;
+        }
+    }
+
+    private boolean place(Entry<K> entry) {
+        long deadlineTick = Math.ceilDiv(entry.deadline, tickMillis);
+        long delay = deadlineTick - currentTick;
+        if (delay <= 0) {
+            return false;
+        }
+        if (delay >= HORIZON) {
+            // Além do último nível: estaciona na posição mais distante e é
+            // recolocada quando aquela posição for redistribuída
+            deadlineTick = currentTick + HORIZON - 1;
+            delay = HORIZON - 1;
+        }
+
+        int level = 0;
+        while (level < LEVELS - 1 && delay >= 1L << (BITS * (level + 1))) {
+            level++;
+        }
+        wheels[level][(int) ((deadlineTick >>> (BITS * level)) & MASK)].append(entry);
+        return true;
+    }
+
+    private static final class Entry<K> {
+
+        private final K key;
+        private long deadline;
+        private long version;
+        private Entry<K> previous;
+        private Entry<K> next;
+
+        private Entry(K key) {
+            this.key = key;
+        }
+
+        private static <K> Entry<K> sentinel() {
+            Entry<K> sentinel = new Entry<>(null);
+            sentinel.previous = sentinel;
+            sentinel.next = sentinel;
+            return sentinel;
+        }
+
+        private void append(Entry<K> entry) {
+            entry.previous = previous;
+            entry.next = this;
+            previous.next = entry;
+            previous = entry;
+        }
+
+        private void unlink() {
+            if (previous != null) {
+                previous.next = next;
+                next.previous = previous;
+                previous = null;
+                next = null;
+            }
+        }
+
+    }
+
+}
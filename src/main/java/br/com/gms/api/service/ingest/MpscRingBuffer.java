@@ -0,0 +1,87 @@
+package br.com.gms.api.service.ingest;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fila limitada com vários produtores e um único consumidor, no estilo do
+ * disruptor: os produtores disputam apenas o CAS da sequência de escrita e o
+ * consumidor esvazia em lote, sem travas.
+ *
+ * <p>
+ * Cada produtor reserva uma sequência e só depois publica o elemento na
+ * posição; o consumidor lê até encontrar uma posição ainda não publicada.
+ */
+final class MpscRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    // Só o consumidor escreve; os produtores leem para saber se há espaço
+    private volatile long head;
+
+    MpscRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacidade deve estar entre 1 e 2^30");
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Enfileira o elemento, ou devolve {@code false} se a fila estiver cheia.
+     */
+    boolean offer(E element) {
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head >= slots.length()) {
+                return false;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+        slots.setRelease((int) sequence & mask, element);
+        return true;
+    }
+
+    /**
+     * Move até {@code limit} elementos publicados, em ordem, para {@code batch}.
+     * Só pode ser chamado pela thread consumidora.
+     */
+    int drainTo(List<E> batch, int limit) {
+        long sequence = head;
+        int drained = 0;
+        while (drained < limit) {
+            int index = (int) sequence & mask;
+            E element = slots.getAcquire(index);
+            if (element == null) {
+                break;
+            }
+            slots.setPlain(index, null);
+            batch.add(element);
+            sequence++;
+            drained++;
+        }
+        // A escrita volátil publica as posições liberadas de uma vez para o lote
+        head = sequence;
+        return drained;
+    }
+
+    /**
+     * Nenhuma sequência reservada por produtores aguarda o consumidor, nem as
+     * ainda não publicadas.
+     */
+    boolean isEmpty() {
+        return tail.get() == head;
+    }
+
+    int size() {
+        return (int) (tail.get() - head);
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+
+}
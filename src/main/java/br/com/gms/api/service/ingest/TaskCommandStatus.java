@@ -0,0 +1,24 @@
+package br.com.gms.api.service.ingest;
+
+import java.util.UUID;
+
+/**
+ * Situação de um comando aceito pela ingestão assíncrona, consultável pelo
+ * número devolvido no 202 enquanto ele não for sobrescrito por comandos mais
+ * novos.
+ */
+public record TaskCommandStatus(long command, UUID taskId, State state, String message) {
+
+    public enum State {
+        PENDING, APPLIED, NOT_FOUND, UNPROCESSABLE, FAILED
+    }
+
+    static TaskCommandStatus pending(long command, UUID taskId) {
+        return new TaskCommandStatus(command, taskId, State.PENDING, null);
+    }
+
+    TaskCommandStatus resolve(State state, String message) {
+        return new TaskCommandStatus(command, taskId, state, message);
+    }
+
+}
@@ -0,0 +1,365 @@
+package br.com.gms.api.service.ingest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import br.com.gms.api.exception.BusinessException;
+import br.com.gms.api.exception.NotFoundException;
+import br.com.gms.api.exception.TaskQueueFullException;
+import br.com.gms.api.model.Task;
+import br.com.gms.api.model.valueobject.BatchItemResult;
+import br.com.gms.api.model.valueobject.BatchUpdateTaskDTO;
+import br.com.gms.api.model.valueobject.CreateTaskDTO;
+import br.com.gms.api.model.valueobject.UpdateTaskDTO;
+import br.com.gms.api.service.TaskService;
+import br.com.gms.api.service.ingest.TaskCommandStatus.State;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Ingestão assíncrona de criações e alterações. As requisições só validam e
+ * enfileiram; uma única thread escritora aplica os comandos em lotes, na ordem
+ * em que foram aceitos, de modo que uma alteração nunca passa à frente da
+ * criação que a precede. O resultado de cada comando fica disponível por
+ * {@link #status(long)}.
+ */
+@Component
+@ConditionalOnProperty(name = "api.task.ingest.async", havingValue = "true")
+public class TaskIngestPipeline implements MeterBinder, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskIngestPipeline.class);
+
+    private static final int IDLE_SPINS = 64;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final TaskService service;
+    private final MpscRingBuffer<Command> queue;
+    private final int batchSize;
+    private final List<Command> batch;
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicLong commands = new AtomicLong();
+    private final AtomicReferenceArray<TaskCommandStatus> outcomes;
+    private final int outcomeMask;
+    // Criações aceitas e ainda não gravadas, para validar alterações que
+    // chegam antes da escritora
+    private final Map<UUID, Task> creating = new ConcurrentHashMap<>();
+    // Produtores entre a leitura de closed e o offer; a escritora só sai
+    // depois que não houver nenhum
+    private final AtomicInteger producers = new AtomicInteger();
+    private volatile long processed;
+    private volatile boolean sleeping;
+    private volatile boolean closed;
+    private Thread writer;
+    private DistributionSummary batches;
+
+    @Autowired
+    public TaskIngestPipeline(TaskService service, @Value("${api.task.ingest.capacity:65536}") int capacity,
+            @Value("${api.task.ingest.batch-size:1024}") int batchSize) {
+        this(service, capacity, batchSize, true);
+    }
+
+    public TaskIngestPipeline(TaskService service, int capacity, int batchSize, boolean startWriter) {
+        if (batchSize < 1 || batchSize > TaskService.MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Lote deve ter entre 1 e " + TaskService.MAX_BATCH_SIZE + " comandos");
+        }
+        this.service = service;
+        this.queue = new MpscRingBuffer<>(capacity);
+        this.batchSize = batchSize;
+        this.batch = new ArrayList<>(batchSize);
+        // O dobro da fila: o resultado continua disponível por pelo menos uma
+        // fila cheia de comandos depois de aplicado
+        this.outcomes = new AtomicReferenceArray<>(Math.min(queue.capacity(), 1 << 29) * 2);
+        this.outcomeMask = outcomes.length() - 1;
+        if (startWriter) {
+            writer = Thread.ofPlatform().daemon().name("task-ingest-writer").start(this::writeLoop);
+        }
+    }
+
+    /**
+     * Valida e constrói a tarefa na thread da requisição, para que o id já
+     * possa ser devolvido, e enfileira a gravação.
+     */
+    public TaskCommandStatus create(CreateTaskDTO dto) {
+        Task task = dto.toTask();
+        creating.put(task.getId(), task);
+        try {
+            return enqueue(id -> new Create(task, TaskCommandStatus.pending(id, task.getId())));
+        } catch (TaskQueueFullException ex) {
+            creating.remove(task.getId());
+            throw ex;
+        }
+    }
+
+    /**
+     * Confere na thread da requisição que a tarefa existe e que a alteração é
+     * válida sobre o estado atual, como no caminho síncrono; só o que depende
+     * de escritas ainda não aplicadas é decidido pela escritora.
+     */
+    public TaskCommandStatus update(UUID id, UpdateTaskDTO dto) {
+        Task pending = creating.get(id);
+        service.previewUpdate(pending != null ? pending : service.findById(id), dto);
+        BatchUpdateTaskDTO update = new BatchUpdateTaskDTO(id, dto.description(), dto.scheduledDate());
+        return enqueue(command -> new Update(update, TaskCommandStatus.pending(command, id)));
+    }
+
+    public Optional<TaskCommandStatus> status(long command) {
+        TaskCommandStatus status = outcomes.get((int) command & outcomeMask);
+        return status != null && status.command() == command ? Optional.of(status) : Optional.empty();
+    }
+
+    /**
+     * Aplica um lote de comandos enfileirados e devolve quantos foram
+     * processados. Só pode ser chamado por uma thread por vez: a escritora, ou
+     * o teste quando ela não é iniciada.
+     */
+    public int drain() {
+        int drained = queue.drainTo(batch, batchSize);
+        if (drained == 0) {
+            return 0;
+        }
+        try {
+            apply(batch);
+        } finally {
+            batch.clear();
+            processed += drained;
+        }
+        if (batches != null) {
+            batches.record(drained);
+        }
+        return drained;
+    }
+
+    /**
+     * Espera a escritora processar tudo o que foi aceito até aqui.
+     */
+    public boolean awaitDrained(long timeout, TimeUnit unit) {
+        long target = accepted.sum();
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (processed < target) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+        return true;
+    }
+
+    public int queueSize() {
+        return queue.size();
+    }
+
+    public long appliedCount() {
+        return applied.sum();
+    }
+
+    public long failedCount() {
+        return failed.sum();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tasks.ingest.queue.size", this, TaskIngestPipeline::queueSize).register(registry);
+        Gauge.builder("tasks.ingest.queue.capacity", queue, MpscRingBuffer::capacity).register(registry);
+        FunctionCounter.builder("tasks.ingest.commands", applied, LongAdder::sum).tag("result", "applied")
+                .register(registry);
+        FunctionCounter.builder("tasks.ingest.commands", failed, LongAdder::sum).tag("result", "failed")
+                .register(registry);
+        FunctionCounter.builder("tasks.ingest.commands", rejected, LongAdder::sum).tag("result", "rejected")
+                .register(registry);
+        batches = DistributionSummary.builder("tasks.ingest.batch.size").register(registry);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        // Recusa novos comandos e deixa a escritora esvaziar a fila antes de sair
+        closed = true;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            writer.join();
+        }
+    }
+
+    private TaskCommandStatus enqueue(LongFunction<Command> factory) {
+        Command command = factory.apply(commands.getAndIncrement());
+        TaskCommandStatus status = command.status();
+        int slot = (int) status.command() & outcomeMask;
+        // Publicado antes do offer: a escritora pode resolver o comando antes
+        // mesmo de enqueue retornar
+        outcomes.set(slot, status);
+        producers.incrementAndGet();
+        try {
+            if (closed || !queue.offer(command)) {
+                outcomes.compareAndSet(slot, status, null);
+                rejected.increment();
+                throw new TaskQueueFullException();
+            }
+        } finally {
+            producers.decrementAndGet();
+        }
+        accepted.increment();
+        if (sleeping) {
+            LockSupport.unpark(writer);
+        }
+        return status;
+    }
+
+    private void writeLoop() {
+        int idle = 0;
+        while (true) {
+            if (drain() > 0) {
+                idle = 0;
+            } else if (closed && producers.get() == 0 && queue.isEmpty()) {
+                // Quem leu closed = false já se registrou em producers antes,
+                // então o que ele enfileirar ainda é visto por isEmpty()
+                return;
+            } else if (++idle < IDLE_SPINS) {
+                Thread.onSpinWait();
+            } else {
+                // Quem enfileira depois de ler sleeping = true acorda a escritora;
+                // quem enfileirou antes já aparece em isEmpty()
+                sleeping = true;
+                if (queue.isEmpty() && !closed) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                sleeping = false;
+            }
+        }
+    }
+
+    private void apply(List<Command> commands) {
+        // Criações e alterações consecutivas viram uma escrita em lote cada;
+        // a ordem entre os grupos é mantida
+        List<Create> creates = new ArrayList<>();
+        List<Update> updates = new ArrayList<>();
+        for (Command command : commands) {
+            switch (command) {
+                case Create create -> {
+                    applyUpdates(updates);
+                    creates.add(create);
+                }
+                case Update update -> {
+                    applyCreates(creates);
+                    updates.add(update);
+                }
+            }
+        }
+        applyCreates(creates);
+        applyUpdates(updates);
+    }
+
+    private void applyCreates(List<Create> creates) {
+        if (creates.isEmpty()) {
+            return;
+        }
+        try {
+            service.insertAll(creates.stream().map(Create::task).toList());
+            applied.add(creates.size());
+            creates.forEach(create -> resolve(create, State.APPLIED, null));
+        } catch (RuntimeException ex) {
+            failed.add(creates.size());
+            log.error("Falha ao gravar {} tarefas enfileiradas", creates.size(), ex);
+            creates.forEach(create -> resolve(create, State.FAILED, ex.getMessage()));
+        }
+        creates.forEach(create -> creating.remove(create.task().getId()));
+        creates.clear();
+    }
+
+    private void applyUpdates(List<Update> updates) {
+        if (updates.isEmpty()) {
+            return;
+        }
+        try {
+            for (BatchItemResult result : service.updateAll(updates.stream().map(Update::dto).toList())) {
+                Update update = updates.get(result.index());
+                switch (result.status()) {
+                    case OK -> {
+                        applied.increment();
+                        resolve(update, State.APPLIED, null);
+                    }
+                    // Outra escrita síncrona passou à frente; sem If-Match, a alteração
+                    // é reaplicada sobre a versão atual, como no caminho síncrono
+                    case CONFLICT -> retry(update);
+                    // Validada na requisição, mas removida ou alterada antes da escritora
+                    case NOT_FOUND -> reject(update, State.NOT_FOUND, result.message());
+                    case UNPROCESSABLE -> reject(update, State.UNPROCESSABLE, result.message());
+                }
+            }
+        } catch (RuntimeException ex) {
+            failed.add(updates.size());
+            log.error("Falha ao aplicar {} alterações enfileiradas", updates.size(), ex);
+            updates.forEach(update -> resolve(update, State.FAILED, ex.getMessage()));
+        }
+        updates.clear();
+    }
+
+    private void retry(Update update) {
+        BatchUpdateTaskDTO dto = update.dto();
+        try {
+            service.update(dto.id(), new UpdateTaskDTO(dto.description(), dto.scheduledDate()));
+            applied.increment();
+            resolve(update, State.APPLIED, null);
+        } catch (NotFoundException ex) {
+            reject(update, State.NOT_FOUND, ex.getMessage());
+        } catch (BusinessException ex) {
+            reject(update, State.UNPROCESSABLE, ex.getMessage());
+        } catch (RuntimeException ex) {
+            failed.increment();
+            log.error("Falha ao reaplicar a alteração enfileirada da tarefa {}", dto.id(), ex);
+            resolve(update, State.FAILED, ex.getMessage());
+        }
+    }
+
+    private void reject(Update update, State state, String message) {
+        failed.increment();
+        log.debug("Alteração enfileirada da tarefa {} recusada: {}", update.dto().id(), message);
+        resolve(update, state, message);
+    }
+
+    private void resolve(Command command, State state, String message) {
+        TaskCommandStatus pending = command.status();
+        // Se a posição já foi reaproveitada, ninguém mais consegue consultar o comando
+        outcomes.compareAndSet((int) pending.command() & outcomeMask, pending, pending.resolve(state, message));
+    }
+
+    private sealed interface Command permits Create, Update {
+
+        TaskCommandStatus status();
+
+    }
+
+    private record Create(Task task, TaskCommandStatus status) implements Command {
+    }
+
+    private record Update(BatchUpdateTaskDTO dto, TaskCommandStatus status) implements Command {
+    }
+
+}
@@ -0,0 +1,62 @@
+package br.com.gms.api.service.search;
+
+import java.util.Arrays;
+
+final class Postings {
+
+    private int[] docs = new int[2];
+    private int[] frequencies = new int[2];
+    private int size;
+
+    void add(int doc, int frequency) {
+        if (size == docs.length) {
+            int capacity = size + (size >> 1) + 1;
+            docs = Arrays.copyOf(docs, capacity);
+            frequencies = Arrays.copyOf(frequencies, capacity);
+        }
+        docs[size] = doc;
+        frequencies[size] = frequency;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int doc(int position) {
+        return docs[position];
+    }
+
+    int frequency(int position) {
+        return frequencies[position];
+    }
+
+    int seek(int from, int doc) {
+        // Busca exponencial a partir da última posição: barata quando as
+        // listas intersectadas têm densidades parecidas
+        int step = 1;
+        int low = from;
+        while (low + step < size && docs[low + step] < doc) {
+            low += step;
+            step <<= 1;
+        }
+        int position = Arrays.binarySearch(docs, low, Math.min(low + step + 1, size), doc);
+        return position >= 0 ? position : -position - 1;
+    }
+
+    void remap(int[] newDocs) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            int doc = newDocs[docs[i]];
+            if (doc >= 0) {
+                docs[kept] = doc;
+                frequencies[kept] = frequencies[i];
+                kept++;
+            }
+        }
+        size = kept;
+        docs = Arrays.copyOf(docs, Math.max(kept, 2));
+        frequencies = Arrays.copyOf(frequencies, Math.max(kept, 2));
+    }
+
+}
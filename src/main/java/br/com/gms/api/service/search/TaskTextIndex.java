@@ -0,0 +1,519 @@
+package br.com.gms.api.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import br.com.gms.api.exception.BusinessException;
+import br.com.gms.api.model.Task;
+import br.com.gms.api.repository.TaskRepository;
+import br.com.gms.api.service.TaskChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Component
+public class TaskTextIndex implements MeterBinder {
+
+    public static final int MAX_PREFIX_EXPANSIONS = 1024;
+
+    private static final int MIN_COMPACTION_DOCS = 4096;
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int MAX_CHANGES_PER_FLUSH = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<UUID, Integer> docs = new HashMap<>();
+    private final Queue<Pending> pending = new ConcurrentLinkedQueue<>();
+
+    private UUID[] ids = new UUID[16];
+    private long[] versions = new long[16];
+    private int[] lengths = new int[16];
+    private BitSet live = new BitSet();
+    private int nextDoc;
+    private long totalLength;
+
+    public TaskTextIndex() {
+    }
+
+    @Autowired
+    public TaskTextIndex(TaskRepository repository) {
+        repository.findAll().forEach(this::index);
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.current() == null) {
+            remove(List.of(event.id()));
+        } else if (event.previous() != null
+                && Objects.equals(event.previous().getDescription(), event.current().getDescription())) {
+            touch(event.previous(), event.current());
+        } else {
+            index(event.current());
+        }
+    }
+
+    /**
+     * Analisa a descrição na thread de quem chama, sem trava, e enfileira a
+     * troca do documento; ela é aplicada por quem conseguir a trava de escrita
+     * primeiro, junto com as trocas enfileiradas pelas demais threads.
+     */
+    public void index(Task task) {
+        pending.add(analyze(task.getId(), task.getVersion(), task.getDescription()));
+        flush(false);
+    }
+
+    public void remove(Collection<UUID> removed) {
+        for (UUID id : removed) {
+            pending.add(new Change(id, 0, null, 0));
+        }
+        flush(false);
+    }
+
+    public TextSearchResult search(String query, int offset, int limit) {
+        List<Clause> clauses = parse(query);
+        if (clauses.isEmpty()) {
+            return TextSearchResult.EMPTY;
+        }
+
+        flush(true);
+        lock.readLock().lock();
+        try {
+            List<List<Postings>> expanded = new ArrayList<>(clauses.size());
+            for (Clause clause : clauses) {
+                List<Postings> postings = expand(clause);
+                if (postings.isEmpty()) {
+                    return TextSearchResult.EMPTY;
+                }
+                expanded.add(postings);
+            }
+            // Começa pela cláusula mais seletiva; as demais só são consultadas
+            // por busca binária para os documentos que ainda restam
+            expanded.sort(Comparator.comparingLong(TaskTextIndex::cost));
+
+            Hits hits = union(expanded.get(0));
+            for (int i = 1; i < expanded.size() && hits.size > 0; i++) {
+                hits = intersect(hits, expanded.get(i));
+            }
+            return top(hits, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int documentCount() {
+        flush(true);
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        flush(true);
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tasks.search.index.size", this, TaskTextIndex::documentCount)
+                .tag("entry", "documents")
+                .register(registry);
+        Gauge.builder("tasks.search.index.size", this, TaskTextIndex::termCount)
+                .tag("entry", "terms")
+                .register(registry);
+    }
+
+    /**
+     * A descrição não mudou: enfileira só o avanço de versão, que é aplicado na
+     * ordem da fila junto com as demais trocas, sem analisar o texto de novo.
+     */
+    private void touch(Task previous, Task current) {
+        pending.add(new Touch(current.getId(), previous.getVersion(), current.getVersion(), current.getDescription()));
+        flush(false);
+    }
+
+    private static Change analyze(UUID id, long version, String description) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (String term : TextAnalyzer.terms(description)) {
+            frequencies.merge(term, 1, Integer::sum);
+            length++;
+        }
+        return new Change(id, version, frequencies, length);
+    }
+
+    /**
+     * Aplica as trocas pendentes. Quem escreve só tenta a trava: se outra
+     * thread a detém, ela verá a troca ao reler a fila depois de soltá-la, ou a
+     * próxima leitura a aplicará antes de consultar o índice.
+     */
+    private void flush(boolean wait) {
+        while (!pending.isEmpty()) {
+            if (wait) {
+                lock.writeLock().lock();
+            } else if (!lock.writeLock().tryLock()) {
+                return;
+            }
+            try {
+                Pending change;
+                for (int applied = 0; applied < MAX_CHANGES_PER_FLUSH && (change = pending.poll()) != null; applied++) {
+                    if (change instanceof Touch touch) {
+                        apply(touch);
+                    } else {
+                        apply((Change) change);
+                    }
+                }
+                compactIfNeeded();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void apply(Change change) {
+        Integer doc = docs.get(change.id());
+        if (change.frequencies() == null) {
+            if (doc != null) {
+                unlink(doc);
+            }
+            return;
+        }
+        if (doc != null) {
+            if (versions[doc] >= change.version()) {
+                return;
+            }
+            unlink(doc);
+        }
+        add(change);
+    }
+
+    private void apply(Touch touch) {
+        Integer doc = docs.get(touch.id());
+        if (doc != null && versions[doc] >= touch.version()) {
+            return;
+        }
+        if (doc != null && versions[doc] == touch.previousVersion()) {
+            versions[doc] = touch.version();
+            return;
+        }
+        // O índice não está na versão de onde o evento partiu (uma troca de
+        // descrição chegou fora de ordem ou ainda não foi vista): avançar só a
+        // versão faria essa troca ser descartada, então reindexa o texto atual
+        apply(analyze(touch.id(), touch.version(), touch.description()));
+    }
+
+    private void add(Change change) {
+        int doc = nextDoc++;
+        if (doc == ids.length) {
+            int capacity = doc + (doc >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+        }
+        ids[doc] = change.id();
+        versions[doc] = change.version();
+        lengths[doc] = change.length();
+        live.set(doc);
+        docs.put(change.id(), doc);
+        totalLength += change.length();
+        change.frequencies().forEach((term, frequency) -> terms.computeIfAbsent(term, key -> new Postings()).add(doc, frequency));
+    }
+
+    private void unlink(int doc) {
+        live.clear(doc);
+        docs.remove(ids[doc]);
+        totalLength -= lengths[doc];
+    }
+
+    private void compactIfNeeded() {
+        int dead = nextDoc - docs.size();
+        if (dead < MIN_COMPACTION_DOCS || dead < docs.size()) {
+            return;
+        }
+
+        int[] newDocs = new int[nextDoc];
+        int kept = 0;
+        for (int doc = 0; doc < nextDoc; doc++) {
+            if (!live.get(doc)) {
+                newDocs[doc] = -1;
+                continue;
+            }
+            newDocs[doc] = kept;
+            ids[kept] = ids[doc];
+            versions[kept] = versions[doc];
+            lengths[kept] = lengths[doc];
+            kept++;
+        }
+        Arrays.fill(ids, kept, nextDoc, null);
+        terms.values().removeIf(postings -> {
+            postings.remap(newDocs);
+            return postings.size() == 0;
+        });
+        docs.replaceAll((id, doc) -> newDocs[doc]);
+        live = new BitSet(kept);
+        live.set(0, kept);
+        nextDoc = kept;
+    }
+
+    private List<Postings> expand(Clause clause) {
+        if (!clause.prefix()) {
+            Postings postings = terms.get(clause.term());
+            return postings == null ? List.of() : List.of(postings);
+        }
+        Collection<Postings> expansions = terms.subMap(clause.term(), true, clause.term() + Character.MAX_VALUE, false)
+                .values();
+        if (expansions.size() > MAX_PREFIX_EXPANSIONS) {
+            throw new BusinessException("Prefixo '" + clause.term() + "' corresponde a mais de "
+                    + MAX_PREFIX_EXPANSIONS + " termos");
+        }
+        return List.copyOf(expansions);
+    }
+
+    private Hits union(List<Postings> postings) {
+        if (postings.size() == 1) {
+            Postings single = postings.get(0);
+            Hits hits = new Hits(single.size());
+            float idf = idf(single);
+            for (int i = 0; i < single.size(); i++) {
+                int doc = single.doc(i);
+                if (live.get(doc)) {
+                    hits.add(doc, score(idf, single.frequency(i), doc));
+                }
+            }
+            return hits;
+        }
+
+        // Várias expansões de prefixo: ordena os pares (doc, posição no
+        // buffer) e soma os escores de um mesmo documento
+        int total = (int) cost(postings);
+        long[] keys = new long[total];
+        float[] scores = new float[total];
+        int size = 0;
+        for (Postings expansion : postings) {
+            float idf = idf(expansion);
+            for (int i = 0; i < expansion.size(); i++) {
+                int doc = expansion.doc(i);
+                if (live.get(doc)) {
+                    scores[size] = score(idf, expansion.frequency(i), doc);
+                    keys[size] = ((long) doc << 32) | size;
+                    size++;
+                }
+            }
+        }
+        Arrays.sort(keys, 0, size);
+
+        Hits hits = new Hits(size);
+        for (int i = 0; i < size; i++) {
+            int doc = (int) (keys[i] >>> 32);
+            float score = scores[(int) keys[i]];
+            if (hits.size > 0 && hits.docs[hits.size - 1] == doc) {
+                hits.scores[hits.size - 1] += score;
+            } else {
+                hits.add(doc, score);
+            }
+        }
+        return hits;
+    }
+
+    private Hits intersect(Hits hits, List<Postings> postings) {
+        float[] added = new float[hits.size];
+        boolean[] matched = new boolean[hits.size];
+        for (Postings expansion : postings) {
+            float idf = idf(expansion);
+            int position = 0;
+            for (int i = 0; i < hits.size && position < expansion.size(); i++) {
+                position = expansion.seek(position, hits.docs[i]);
+                if (position < expansion.size() && expansion.doc(position) == hits.docs[i]) {
+                    added[i] += score(idf, expansion.frequency(position), hits.docs[i]);
+                    matched[i] = true;
+                }
+            }
+        }
+
+        Hits kept = new Hits(hits.size);
+        for (int i = 0; i < hits.size; i++) {
+            if (matched[i]) {
+                kept.add(hits.docs[i], hits.scores[i] + added[i]);
+            }
+        }
+        return kept;
+    }
+
+    private TextSearchResult top(Hits hits, int offset, int limit) {
+        int wanted = (int) Math.min((long) offset + limit, hits.size);
+        if (offset >= wanted) {
+            return new TextSearchResult(hits.size, List.of());
+        }
+
+        // Heap de mínimo com os melhores acertos: a raiz é o pior deles
+        int[] heap = new int[wanted];
+        int size = 0;
+        for (int i = 0; i < hits.size; i++) {
+            if (size < wanted) {
+                heap[size] = i;
+                siftUp(hits, heap, size++);
+            } else if (hits.ranksBefore(i, heap[0])) {
+                heap[0] = i;
+                siftDown(hits, heap, size);
+            }
+        }
+
+        List<Integer> ranked = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ranked.add(heap[i]);
+        }
+        ranked.sort((a, b) -> hits.ranksBefore(a, b) ? -1 : hits.ranksBefore(b, a) ? 1 : 0);
+        List<TextSearchResult.Match> matches = new ArrayList<>(wanted - offset);
+        for (int i = offset; i < wanted; i++) {
+            int hit = ranked.get(i);
+            matches.add(new TextSearchResult.Match(ids[hits.docs[hit]], hits.scores[hit]));
+        }
+        return new TextSearchResult(hits.size, matches);
+    }
+
+    private static void siftUp(Hits hits, int[] heap, int position) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!hits.ranksBefore(heap[parent], heap[position])) {
+                return;
+            }
+            swap(heap, parent, position);
+            position = parent;
+        }
+    }
+
+    private static void siftDown(Hits hits, int[] heap, int size) {
+        int position = 0;
+        while (true) {
+            int worst = position;
+            int left = 2 * position + 1;
+            int right = left + 1;
+            if (left < size && hits.ranksBefore(heap[worst], heap[left])) {
+                worst = left;
+            }
+            if (right < size && hits.ranksBefore(heap[worst], heap[right])) {
+                worst = right;
+            }
+            if (worst == position) {
+                return;
+            }
+            swap(heap, position, worst);
+            position = worst;
+        }
+    }
+
+    private static void swap(int[] heap, int a, int b) {
+        int hit = heap[a];
+        heap[a] = heap[b];
+        heap[b] = hit;
+    }
+
+    private float idf(Postings postings) {
+        // Documentos removidos ainda contam em df até a próxima compactação
+        int documents = docs.size();
+        return (float) Math.log(1 + (documents - postings.size() + 0.5) / (postings.size() + 0.5));
+    }
+
+    private float score(float idf, int frequency, int doc) {
+        float averageLength = docs.isEmpty() ? 1 : (float) totalLength / docs.size();
+        float norm = K1 * (1 - B + B * lengths[doc] / Math.max(averageLength, 1));
+        return idf * frequency * (K1 + 1) / (frequency + norm);
+    }
+
+    private static long cost(List<Postings> postings) {
+        long cost = 0;
+        for (Postings expansion : postings) {
+            cost += expansion.size();
+        }
+        return cost;
+    }
+
+    static List<Clause> parse(String query) {
+        List<Clause> clauses = new ArrayList<>();
+        for (String piece : query.trim().split("\\s+")) {
+            if (!piece.endsWith("*")) {
+                TextAnalyzer.terms(piece).forEach(term -> clauses.add(new Clause(term, false)));
+                continue;
+            }
+            String body = piece.substring(0, piece.length() - 1);
+            int start = body.length();
+            while (start > 0 && (Character.isLetterOrDigit(body.charAt(start - 1))
+                    || Character.getType(body.charAt(start - 1)) == Character.NON_SPACING_MARK)) {
+                start--;
+            }
+            TextAnalyzer.terms(body.substring(0, start)).forEach(term -> clauses.add(new Clause(term, false)));
+            String prefix = TextAnalyzer.fold(body.substring(start));
+            if (!prefix.isEmpty()) {
+                clauses.add(new Clause(prefix, true));
+            }
+        }
+        return clauses;
+    }
+
+    record Clause(String term, boolean prefix) {
+    }
+
+    private sealed interface Pending permits Change, Touch {
+    }
+
+    /**
+     * Troca pendente de um documento; sem frequências, é uma remoção.
+     */
+    private record Change(UUID id, long version, Map<String, Integer> frequencies, int length) implements Pending {
+    }
+
+    /**
+     * Avanço de versão sem mudança de descrição, válido só se o documento
+     * indexado estiver em {@code previousVersion}.
+     */
+    private record Touch(UUID id, long previousVersion, long version, String description) implements Pending {
+    }
+
+    private static final class Hits {
+
+        private final int[] docs;
+        private final float[] scores;
+        private int size;
+
+        Hits(int capacity) {
+            docs = new int[capacity];
+            scores = new float[capacity];
+        }
+
+        void add(int doc, float score) {
+            docs[size] = doc;
+            scores[size] = score;
+            size++;
+        }
+
+        boolean ranksBefore(int a, int b) {
+            return scores[a] > scores[b] || (scores[a] == scores[b] && docs[a] < docs[b]);
+        }
+
+    }
+
+}
@@ -0,0 +1,60 @@
+package br.com.gms.api.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+final class TextAnalyzer {
+
+    private static final char[] FOLDED = new char[0x250];
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "o", "as", "os", "e", "ou", "de", "da", "do", "das", "dos", "em", "no", "na", "nos", "nas",
+            "um", "uma", "uns", "umas", "ao", "aos", "para", "pra", "por", "pelo", "pela", "com", "que", "se");
+
+    static {
+        // Tabela de Latin-1 e Latin Extended: "ç" vira "c", "Ã" vira "a"
+        for (char c = 0; c < FOLDED.length; c++) {
+            String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+            FOLDED[c] = Character.toLowerCase(decomposed.charAt(0));
+        }
+    }
+
+    private TextAnalyzer() {
+    }
+
+    static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        StringBuilder term = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                term.append(fold(c));
+            } else if (Character.getType(c) != Character.NON_SPACING_MARK && !term.isEmpty()) {
+                String folded = term.toString();
+                if (!STOP_WORDS.contains(folded)) {
+                    terms.add(folded);
+                }
+                term.setLength(0);
+            }
+        }
+        return terms;
+    }
+
+    static String fold(String text) {
+        StringBuilder folded = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                folded.append(fold(c));
+            }
+        }
+        return folded.toString();
+    }
+
+    private static char fold(char c) {
+        return c < FOLDED.length ? FOLDED[c] : Character.toLowerCase(c);
+    }
+
+}
@@ -0,0 +1,13 @@
+package br.com.gms.api.service.search;
+
+import java.util.List;
+import java.util.UUID;
+
+public record TextSearchResult(int total, List<Match> matches) {
+
+    static final TextSearchResult EMPTY = new TextSearchResult(0, List.of());
+
+    public record Match(UUID id, float score) {
+    }
+
+}
@@ -0,0 +1,159 @@
+package br.com.gms.api.service.stats;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import br.com.gms.api.model.Task;
+import br.com.gms.api.model.valueobject.TaskStats;
+import br.com.gms.api.repository.TaskRepository;
+import br.com.gms.api.service.TaskChangedEvent;
+import br.com.gms.api.service.due.TaskDueEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Component
+public class TaskStatistics implements MeterBinder {
+
+    private final Clock clock;
+    private final LongAdder total = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder unscheduled = new LongAdder();
+    private final LongAdder overdueCount = new LongAdder();
+    private final ConcurrentSkipListMap<LocalDate, Long> perDay = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<LocalDateTime, Long> perHour = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<UUID, Mark> overdue = new ConcurrentHashMap<>();
+
+    public TaskStatistics() {
+        this.clock = Clock.systemDefaultZone();
+    }
+
+    @Autowired
+    public TaskStatistics(TaskRepository repository) {
+        this(repository, Clock.systemDefaultZone());
+    }
+
+    public TaskStatistics(TaskRepository repository, Clock clock) {
+        this.clock = clock;
+        for (Task task : repository.findAll()) {
+            add(task, 1);
+            mark(task.getId(), task);
+        }
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        // Cada evento desfaz a contribuição da versão anterior e soma a nova;
+        // como as diferenças se somam, a ordem de entrega não importa
+        if (event.previous() != null) {
+            add(event.previous(), -1);
+        }
+        if (event.current() != null) {
+            add(event.current(), 1);
+        }
+        mark(event.id(), event.current());
+    }
+
+    @EventListener
+    public void onTaskDue(TaskDueEvent event) {
+        mark(event.id(), event.task());
+    }
+
+    public TaskStats snapshot(LocalDate from, LocalDate to) {
+        long all = total.sum();
+        long done = completed.sum();
+        return new TaskStats(all, all - done, done, overdueCount.sum(), unscheduled.sum(),
+                Collections.unmodifiableSortedMap(new TreeMap<>(range(perDay, from, to))),
+                Collections.unmodifiableSortedMap(new TreeMap<>(range(perHour,
+                        from == null ? null : from.atStartOfDay(), to == null ? null : to.atStartOfDay()))));
+    }
+
+    public long overdueCount() {
+        return overdueCount.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tasks.stats.count", total, LongAdder::sum).tag("status", "total").register(registry);
+        Gauge.builder("tasks.stats.count", completed, LongAdder::sum).tag("status", "completed").register(registry);
+        Gauge.builder("tasks.stats.count", overdueCount, LongAdder::sum).tag("status", "overdue").register(registry);
+    }
+
+    private void add(Task task, int delta) {
+        total.add(delta);
+        if (Boolean.TRUE.equals(task.getCompleted())) {
+            completed.add(delta);
+        }
+        LocalDateTime scheduledDate = task.getScheduledDate();
+        if (scheduledDate == null) {
+            unscheduled.add(delta);
+            return;
+        }
+        // Um bucket que zera é removido, para o histograma não crescer com
+        // datas que já não têm tarefas
+        perDay.merge(scheduledDate.toLocalDate(), (long) delta, TaskStatistics::sum);
+        perHour.merge(scheduledDate.truncatedTo(ChronoUnit.HOURS), (long) delta, TaskStatistics::sum);
+    }
+
+    private void mark(UUID id, Task task) {
+        overdue.compute(id, (key, known) -> {
+            if (task == null) {
+                if (known != null && known.overdue()) {
+                    overdueCount.decrement();
+                }
+                return null;
+            }
+            if (known != null && known.version() > task.getVersion()) {
+                // Evento atrasado de uma versão já superada
+                return known;
+            }
+            boolean late = isOverdue(task);
+            boolean wasLate = known != null && known.overdue();
+            if (late != wasLate) {
+                overdueCount.add(late ? 1 : -1);
+            }
+            // Só guarda tarefas que já venceram alguma vez, para ignorar
+            // eventos atrasados delas; as demais não ocupam memória
+            return late || known != null ? new Mark(task.getVersion(), late) : null;
+        });
+    }
+
+    private boolean isOverdue(Task task) {
+        return task.getScheduledDate() != null && !Boolean.TRUE.equals(task.getCompleted())
+                && !task.getScheduledDate().isAfter(LocalDateTime.now(clock));
+    }
+
+    private static <K> NavigableMap<K, Long> range(NavigableMap<K, Long> histogram, K from, K to) {
+        NavigableMap<K, Long> range = histogram;
+        if (from != null) {
+            range = range.tailMap(from, true);
+        }
+        if (to != null) {
+            range = range.headMap(to, false);
+        }
+        return range;
+    }
+
+    private static Long sum(Long current, Long delta) {
+        long result = current + delta;
+        return result == 0 ? null : result;
+    }
+
+    private record Mark(long version, boolean overdue) {
+    }
+
+}
@@ -0,0 +1,123 @@
+package br.com.gms.api.controller;
+
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.gms.api.model.Task;
+import br.com.gms.api.model.valueobject.TaskFilter;
+import br.com.gms.api.model.valueobject.UpdateTaskDTO;
+import br.com.gms.api.service.TaskChangeLog;
+import br.com.gms.api.service.TaskService;
+
+@WebMvcTest(TaskController.class)
+@Import({ TaskResponseCache.class, TaskChangeStreams.class, TaskChangeLog.class })
+@TestPropertySource(properties = { "api.cache.tasks.enabled=true", "server.compression.enabled=true",
+        "server.compression.min-response-size=1B" })
+class TaskControllerCompressionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private TaskService taskService;
+
+    @Test
+    void shouldAcceptTheGzipETagAsIfMatch() throws Exception {
+        Task task = new Task("Comprimida", LocalDateTime.now().plusDays(1));
+        when(taskService.findById(task.getId())).thenReturn(task);
+        when(taskService.update(eq(task.getId()), eq(task.getVersion()), any(UpdateTaskDTO.class))).thenReturn(task);
+
+        MvcResult read = mockMvc.perform(get("/tasks/" + task.getId()).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + task.getId() + "-" + task.getVersion() + "-gzip\""))
+                .andReturn();
+        String etag = read.getResponse().getHeader(HttpHeaders.ETAG);
+        assertEquals(task.getDescription(), objectMapper.readTree(gunzip(read.getResponse().getContentAsByteArray()))
+                .get("description").asText());
+
+        mockMvc.perform(get("/tasks/" + task.getId())
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/tasks/" + task.getId())
+                .header(HttpHeaders.IF_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdateTaskDTO("Alterada", null))))
+                .andExpect(status().isNoContent());
+
+        verify(taskService).update(eq(task.getId()), eq(task.getVersion()), any(UpdateTaskDTO.class));
+    }
+
+    @Test
+    void shouldPrecompressListResponsesWithTheirOwnStrongETag() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 2, 1, 0, 0);
+        List<Task> tasks = List.of(new Task("Comprimida", from.plusDays(1)), new Task("Também", from.plusDays(2)));
+        when(taskService.modificationCount()).thenReturn(3L);
+        when(taskService.findAll()).thenReturn(tasks);
+        when(taskService.search(any(TaskFilter.class))).thenReturn(tasks);
+        when(taskService.findByScheduledDateBetween(from, to)).thenReturn(tasks);
+
+        for (MockHttpServletRequestBuilder request : List.of(get("/tasks"), get("/tasks/search").param("limit", "5"),
+                get("/tasks/by-scheduled-date").param("from", from.toString()).param("to", to.toString()))) {
+            MvcResult read = mockMvc.perform(request.header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                    .andExpect(header().string(HttpHeaders.ETAG, endsWith("-gzip\"")))
+                    .andReturn();
+            String etag = read.getResponse().getHeader(HttpHeaders.ETAG);
+            assertEquals(2, objectMapper.readTree(gunzip(read.getResponse().getContentAsByteArray())).size());
+
+            mockMvc.perform(request.header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified());
+        }
+
+        // Sem Accept-Encoding volta o corpo plano, com a ETag sem o sufixo
+        mockMvc.perform(get("/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, not(endsWith("-gzip\""))));
+        verify(taskService).findAll();
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return gzip.readAllBytes();
+        }
+    }
+
+}
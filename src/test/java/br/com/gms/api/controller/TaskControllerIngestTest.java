@@ -0,0 +1,103 @@
+package br.com.gms.api.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.gms.api.exception.BusinessException;
+import br.com.gms.api.exception.TaskNotFoundException;
+import br.com.gms.api.model.valueobject.CreateTaskDTO;
+import br.com.gms.api.model.valueobject.UpdateTaskDTO;
+import br.com.gms.api.service.TaskChangeLog;
+import br.com.gms.api.service.TaskService;
+import br.com.gms.api.service.ingest.TaskCommandStatus;
+import br.com.gms.api.service.ingest.TaskCommandStatus.State;
+import br.com.gms.api.service.ingest.TaskIngestPipeline;
+
+@WebMvcTest(TaskController.class)
+@Import({ TaskResponseCache.class, TaskChangeStreams.class, TaskChangeLog.class })
+@TestPropertySource(properties = "api.cache.tasks.enabled=false")
+class TaskControllerIngestTest {
+
+    private static final LocalDateTime TOMORROW = LocalDateTime.now().plusDays(1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private TaskService taskService;
+
+    @MockitoBean
+    private TaskIngestPipeline ingest;
+
+    @Test
+    void shouldAcceptCreateAndPointToItsStatus() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(ingest.create(any(CreateTaskDTO.class))).thenReturn(new TaskCommandStatus(7, id, State.PENDING, null));
+
+        mockMvc.perform(post("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CreateTaskDTO("Enfileirada", TOMORROW))))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/tasks/" + id))
+                .andExpect(header().string(HttpHeaders.CONTENT_LOCATION, "/tasks/commands/7"))
+                .andExpect(jsonPath("$.command").value(7))
+                .andExpect(jsonPath("$.state").value("PENDING"));
+    }
+
+    @Test
+    void shouldRejectInvalidUpdatesBeforeAcceptingThem() throws Exception {
+        UUID missing = UUID.randomUUID();
+        UUID invalid = UUID.randomUUID();
+        when(ingest.update(eq(missing), any(UpdateTaskDTO.class))).thenThrow(new TaskNotFoundException(missing));
+        when(ingest.update(eq(invalid), any(UpdateTaskDTO.class)))
+                .thenThrow(new BusinessException("Descrição obrigatória"));
+        String payload = objectMapper.writeValueAsString(new UpdateTaskDTO(" ", TOMORROW));
+
+        mockMvc.perform(put("/tasks/" + missing).contentType(MediaType.APPLICATION_JSON).content(payload))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(put("/tasks/" + invalid).contentType(MediaType.APPLICATION_JSON).content(payload))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void shouldReportCommandOutcome() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(ingest.status(7)).thenReturn(Optional.of(new TaskCommandStatus(7, id, State.NOT_FOUND, "Removida")));
+        when(ingest.status(8)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/tasks/commands/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.taskId").value(id.toString()))
+                .andExpect(jsonPath("$.state").value("NOT_FOUND"))
+                .andExpect(jsonPath("$.message").value("Removida"));
+        mockMvc.perform(get("/tasks/commands/8"))
+                .andExpect(status().isNotFound());
+    }
+
+}
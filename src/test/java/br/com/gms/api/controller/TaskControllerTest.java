@@ -1,5 +1,9 @@
 package br.com.gms.api.controller;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
@@ -7,6 +11,7 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
@@ -15,31 +20,50 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import br.com.gms.api.exception.BusinessException;
+import br.com.gms.api.exception.TaskConflictException;
 import br.com.gms.api.exception.TaskNotFoundException;
 import br.com.gms.api.model.Task;
+import br.com.gms.api.model.valueobject.BatchItemResult;
 import br.com.gms.api.model.valueobject.CreateTaskDTO;
+import br.com.gms.api.model.valueobject.TaskFilter;
+import br.com.gms.api.model.valueobject.TaskSearchPage;
+import br.com.gms.api.model.valueobject.TaskStats;
 import br.com.gms.api.model.valueobject.UpdateTaskDTO;
+import br.com.gms.api.service.TaskChangeLog;
+import br.com.gms.api.service.TaskChangedEvent;
 import br.com.gms.api.service.TaskService;
 
 @WebMvcTest(TaskController.class)
+@Import({ TaskResponseCache.class, TaskChangeStreams.class, TaskChangeLog.class })
+@TestPropertySource(properties = "api.cache.tasks.enabled=false")
 class TaskControllerTest {
 
         @Autowired
@@ -51,6 +75,9 @@ class TaskControllerTest {
         @Autowired
         private ObjectMapper objectMapper;
 
+        @Autowired
+        private TaskChangeLog changeLog;
+
         @Test // Isso aqui é um caso de teste executável pelo JUnit
         void shouldCreateTaskAndReturn201() throws Exception {
 
@@ -77,6 +104,26 @@ class TaskControllerTest {
                                 .andExpect(header().exists("Location"));
         }
 
+        @Test
+        void shouldReportResultOfEachItemInBatch() throws Exception {
+
+                UUID id = UUID.randomUUID();
+                UUID missing = UUID.randomUUID();
+
+                // Um item concluído e outro inexistente no mesmo lote
+                when(taskService.concludeAll(List.of(id, missing))).thenReturn(List.of(
+                                BatchItemResult.ok(0, id),
+                                BatchItemResult.failed(1, missing, new TaskNotFoundException(missing))));
+
+                mockMvc.perform(patch("/tasks/batch/conclude")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(List.of(id, missing))))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].status").value(200))
+                                .andExpect(jsonPath("$[1].status").value(404))
+                                .andExpect(jsonPath("$[1].message").value("Tarefa não encontrada. Id: " + missing));
+        }
+
         @Test
         void shouldUpdateTaskAndReturn204() throws Exception {
 
@@ -90,7 +137,7 @@ class TaskControllerTest {
 
                 // Quando o controller chamar taskService.update(...),independente do DTO
                 // recebido, devolva essa task
-                when(taskService.update(eq(id), any(UpdateTaskDTO.class))).thenReturn(task);
+                when(taskService.update(eq(id), any(), any(UpdateTaskDTO.class))).thenReturn(task);
 
                 // Simule um PUT em /tasks/{id} substituindo pelo UUID
                 mockMvc.perform(
@@ -109,7 +156,8 @@ class TaskControllerTest {
                 UUID id = UUID.randomUUID();
                 UpdateTaskDTO payload = new UpdateTaskDTO("Tarefa alterada", null);
 
-                doThrow(new TaskNotFoundException(id)).when(taskService).update(eq(id), any(UpdateTaskDTO.class));
+                doThrow(new TaskNotFoundException(id)).when(taskService).update(eq(id), any(),
+                                any(UpdateTaskDTO.class));
 
                 mockMvc.perform(put("/tasks/{id}", id)
                                 .contentType(MediaType.APPLICATION_JSON)
@@ -126,7 +174,7 @@ class TaskControllerTest {
                                 null,
                                 LocalDateTime.now().minusDays(1));
 
-                doThrow(new BusinessException("Data agendada deve ser maior que hoje")).when(taskService).update(eq(id),
+                doThrow(new BusinessException("Data agendada deve ser maior que hoje")).when(taskService).update(eq(id), any(),
                                 any());
 
                 mockMvc.perform(put("/tasks/{id}", id)
@@ -141,7 +189,7 @@ class TaskControllerTest {
                 UUID id = UUID.randomUUID();
                 UpdateTaskDTO payload = new UpdateTaskDTO("", null);
 
-                doThrow(new BusinessException("Descrição obrigatória")).when(taskService).update(eq(id),
+                doThrow(new BusinessException("Descrição obrigatória")).when(taskService).update(eq(id), any(),
                                 any(UpdateTaskDTO.class));
 
                 mockMvc.perform(put("/tasks/{id}", id)
@@ -151,6 +199,55 @@ class TaskControllerTest {
                                 .andExpect(jsonPath("$.message").value("Descrição obrigatória"));
         }
 
+        @Test
+        void shouldPassIfMatchVersionToUpdateAndReturnNewETag() throws Exception {
+
+                Task task = new Task("Descrição antiga", null);
+                UUID id = task.getId();
+                UpdateTaskDTO payload = new UpdateTaskDTO("Descrição atualizada", null);
+
+                when(taskService.update(eq(id), eq(3L), any(UpdateTaskDTO.class))).thenReturn(task);
+
+                mockMvc.perform(put("/tasks/{id}", id)
+                                .header("If-Match", "\"" + id + "-3\"")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(payload)))
+                                .andExpect(status().isNoContent())
+                                .andExpect(header().string("ETag", "\"" + id + "-" + task.getVersion() + "\""));
+        }
+
+        @Test
+        void shouldReturn412WhenIfMatchVersionIsStale() throws Exception {
+
+                UUID id = UUID.randomUUID();
+                UpdateTaskDTO payload = new UpdateTaskDTO("Tarefa alterada", null);
+
+                doThrow(new TaskConflictException(id)).when(taskService).update(eq(id), eq(1L),
+                                any(UpdateTaskDTO.class));
+
+                mockMvc.perform(put("/tasks/{id}", id)
+                                .header("If-Match", "\"" + id + "-1\"")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(payload)))
+                                .andExpect(status().isPreconditionFailed())
+                                .andExpect(jsonPath("$.message").value("Tarefa alterada por outra requisição. Id: " + id));
+        }
+
+        @Test
+        void shouldReturn412WithoutUpdatingWhenIfMatchIsForAnotherTask() throws Exception {
+
+                UUID id = UUID.randomUUID();
+                UpdateTaskDTO payload = new UpdateTaskDTO("Tarefa alterada", null);
+
+                mockMvc.perform(put("/tasks/{id}", id)
+                                .header("If-Match", "\"" + UUID.randomUUID() + "-1\"")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(payload)))
+                                .andExpect(status().isPreconditionFailed());
+
+                verify(taskService, never()).update(any(), any(), any());
+        }
+
         @Test
         void shouldConcludeTaskAndReturn204() throws Exception {
 
@@ -254,6 +351,60 @@ class TaskControllerTest {
                                 .andExpect(jsonPath("$[1].description").value("Tarefa 2"));
         }
 
+        @Test
+        void shouldReturnPageOfTasksWithNextLink() throws Exception {
+
+                Task task1 = new Task("Tarefa 1", null);
+                Task task2 = new Task("Tarefa 2", null);
+
+                when(taskService.findPage(null, 2)).thenReturn(List.of(task1, task2));
+
+                mockMvc.perform(get("/tasks").param("limit", "2"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.length()").value(2))
+                                .andExpect(header().string("Link",
+                                                "<http://localhost/tasks?limit=2&after=" + task2.getId()
+                                                                + ">; rel=\"next\""));
+
+                verify(taskService, never()).findAll();
+        }
+
+        @Test
+        void shouldReturnLastPageWithoutNextLink() throws Exception {
+
+                UUID after = UUID.randomUUID();
+
+                when(taskService.findPage(after, 100)).thenReturn(List.of(new Task("Tarefa 1", null)));
+
+                mockMvc.perform(get("/tasks").param("after", after.toString()))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.length()").value(1))
+                                .andExpect(header().doesNotExist("Link"));
+        }
+
+        @Test
+        void shouldStreamTasksAsNdjson() throws Exception {
+
+                Task task1 = new Task("Tarefa 1", null);
+                Task task2 = new Task("Tarefa 2", null);
+
+                when(taskService.findPage(null, 500)).thenReturn(List.of(task1, task2));
+
+                // O corpo é escrito de forma assíncrona, então é preciso despachar de novo
+                MvcResult result = mockMvc.perform(get("/tasks/stream"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                String body = mockMvc.perform(asyncDispatch(result))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType("application/x-ndjson"))
+                                .andReturn().getResponse().getContentAsString();
+
+                String[] lines = body.split("\n");
+                assertEquals(2, lines.length);
+                assertEquals("Tarefa 2", objectMapper.readTree(lines[1]).get("description").asText());
+        }
+
         @Test
         void shouldReturnTaskById() throws Exception {
 
@@ -282,6 +433,97 @@ class TaskControllerTest {
                 verify(taskService).findById(id);
         }
 
+        @Test
+        void shouldReturn304WhenTaskETagMatches() throws Exception {
+
+                Task task = new Task("Tarefa padrão", null);
+                UUID id = task.getId();
+
+                when(taskService.findById(id)).thenReturn(task);
+
+                String etag = mockMvc.perform(get("/tasks/{id}", id))
+                                .andExpect(status().isOk())
+                                .andReturn().getResponse().getHeader("ETag");
+
+                // Mesma versão: nada é serializado
+                mockMvc.perform(get("/tasks/{id}", id).header("If-None-Match", etag))
+                                .andExpect(status().isNotModified())
+                                .andExpect(header().string("ETag", etag))
+                                .andExpect(content().string(""));
+
+                // Depois de alterada, a tarefa ganha uma nova versão
+                task.changeDescription("Tarefa alterada");
+
+                mockMvc.perform(get("/tasks/{id}", id).header("If-None-Match", etag))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.description").value("Tarefa alterada"));
+        }
+
+        @Test
+        void shouldReturn304WithoutLoadingTasksWhenCollectionIsUnchanged() throws Exception {
+
+                when(taskService.modificationCount()).thenReturn(7L);
+                when(taskService.findAll()).thenReturn(List.of(new Task("Tarefa 1", null)));
+
+                String etag = mockMvc.perform(get("/tasks"))
+                                .andExpect(status().isOk())
+                                .andReturn().getResponse().getHeader("ETag");
+
+                mockMvc.perform(get("/tasks").header("If-None-Match", etag))
+                                .andExpect(status().isNotModified());
+
+                verify(taskService).findAll();
+
+                // Qualquer escrita no repositório invalida a ETag da coleção
+                when(taskService.modificationCount()).thenReturn(8L);
+
+                mockMvc.perform(get("/tasks").header("If-None-Match", etag))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.length()").value(1));
+        }
+
+        @Test
+        void shouldTagEachRepresentationOfTheCollectionSeparately() throws Exception {
+
+                when(taskService.modificationCount()).thenReturn(7L);
+                when(taskService.findAll()).thenReturn(List.of(new Task("Tarefa 1", null)));
+
+                String json = mockMvc.perform(get("/tasks"))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string(HttpHeaders.VARY, "Accept, Accept-Encoding"))
+                                .andReturn().getResponse().getHeader("ETag");
+                String cbor = mockMvc.perform(get("/tasks").accept(MediaType.APPLICATION_CBOR))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                                .andExpect(header().string(HttpHeaders.VARY, "Accept, Accept-Encoding"))
+                                .andReturn().getResponse().getHeader("ETag");
+
+                assertNotEquals(json, cbor);
+                // A ETag do JSON não valida a cópia em CBOR, e vice-versa
+                mockMvc.perform(get("/tasks").accept(MediaType.APPLICATION_CBOR).header("If-None-Match", json))
+                                .andExpect(status().isOk());
+                mockMvc.perform(get("/tasks").accept(MediaType.APPLICATION_CBOR).header("If-None-Match", cbor))
+                                .andExpect(status().isNotModified())
+                                .andExpect(header().string(HttpHeaders.VARY, "Accept, Accept-Encoding"))
+                                .andExpect(header().stringValues("ETag", cbor));
+        }
+
+        @Test
+        void shouldAcceptTheCborETagAsIfMatch() throws Exception {
+
+                UUID id = UUID.randomUUID();
+                Task task = Task.restore(id, "Tarefa binária", null, LocalDateTime.now(), false, 3);
+                when(taskService.update(eq(id), eq(3L), any(UpdateTaskDTO.class))).thenReturn(task);
+
+                mockMvc.perform(put("/tasks/{id}", id)
+                                .header("If-Match", "\"" + id + "-3-cbor-gzip\"")
+                                .accept(MediaType.APPLICATION_CBOR)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new UpdateTaskDTO("Tarefa binária", null))))
+                                .andExpect(status().isNoContent())
+                                .andExpect(header().string("ETag", "\"" + id + "-3-cbor\""));
+        }
+
         @Test
         void shouldReturnTasksFilteredByScheduledDate() throws Exception {
 
@@ -310,6 +552,38 @@ class TaskControllerTest {
                                 .andExpect(jsonPath("$").isArray());
         }
 
+        @Test
+        void shouldReturnTasksFilteredByScheduledDay() throws Exception {
+
+                Task task = new Task("Estudar índices", LocalDateTime.of(2030, 1, 1, 10, 0));
+
+                when(taskService.findByScheduledDay(LocalDate.of(2030, 1, 1))).thenReturn(List.of(task));
+
+                mockMvc.perform(get("/tasks/by-scheduled-date").param("day", "2030-01-01"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.length()").value(1))
+                                .andExpect(jsonPath("$[0].description").value("Estudar índices"));
+
+                verify(taskService, never()).findByScheduledDate(any());
+        }
+
+        @Test
+        void shouldReturnTasksFilteredByScheduledDateRange() throws Exception {
+
+                LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+                LocalDateTime to = LocalDateTime.of(2030, 2, 1, 0, 0);
+
+                when(taskService.findByScheduledDateBetween(from, to))
+                                .thenReturn(List.of(new Task("Tarefa de janeiro", LocalDateTime.of(2030, 1, 15, 8, 0))));
+
+                mockMvc.perform(get("/tasks/by-scheduled-date")
+                                .param("from", "2030-01-01T00:00:00")
+                                .param("to", "2030-02-01T00:00:00"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.length()").value(1))
+                                .andExpect(jsonPath("$[0].scheduledDate").value("2030-01-15T08:00:00"));
+        }
+
         @Test
         void shouldReturn400WhenScheduledDateHasInvalidFormat() throws Exception {
 
@@ -345,4 +619,127 @@ class TaskControllerTest {
                 verify(taskService).deleteById(id);
         }
 
+        @Test
+        void shouldBindSearchCriteriaToTypedFilter() throws Exception {
+
+                LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+                Task task = new Task("Estudar filtros", from.plusHours(1));
+                ArgumentCaptor<TaskFilter> filter = ArgumentCaptor.forClass(TaskFilter.class);
+                when(taskService.search(filter.capture())).thenReturn(List.of(task));
+
+                mockMvc.perform(get("/tasks/search")
+                                .param("completed", "false")
+                                .param("scheduledFrom", from.toString())
+                                .param("descriptionPrefix", "Estudar")
+                                .param("sort", "scheduledDate")
+                                .param("direction", "desc")
+                                .param("limit", "10"))
+                                .andExpect(status().isOk())
+                                .andExpect(header().exists("ETag"))
+                                .andExpect(jsonPath("$[0].id").value(task.getId().toString()));
+
+                assertEquals(new TaskFilter(false, from, null, null, null, "Estudar", null,
+                                TaskFilter.SortField.SCHEDULED_DATE, TaskFilter.Direction.DESC, 10), filter.getValue());
+        }
+
+        @Test
+        void shouldReturnRankedTextSearchPage() throws Exception {
+
+                Task task = new Task("Revisão do contrato", null);
+                when(taskService.searchText("revisao", 0, 20)).thenReturn(
+                                new TaskSearchPage(1, List.of(new TaskSearchPage.ScoredTask(task, 1.5f))));
+
+                mockMvc.perform(get("/tasks/search/text").param("q", "revisao"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.total").value(1))
+                                .andExpect(jsonPath("$.results[0].task.id").value(task.getId().toString()))
+                                .andExpect(jsonPath("$.results[0].score").value(1.5));
+        }
+
+        @Test
+        void shouldServeTaskAsCborWhenRequested() throws Exception {
+
+                LocalDateTime scheduledDate = LocalDateTime.of(2030, 1, 1, 10, 0);
+                Task task = new Task("Tarefa binária", scheduledDate);
+                when(taskService.findById(task.getId())).thenReturn(task);
+
+                byte[] body = mockMvc.perform(get("/tasks/{id}", task.getId())
+                                .accept(MediaType.APPLICATION_CBOR, MediaType.APPLICATION_JSON))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                                .andExpect(header().string(HttpHeaders.VARY, "Accept, Accept-Encoding"))
+                                .andReturn().getResponse().getContentAsByteArray();
+
+                JsonNode node = WireFormat.cborMapper().readTree(body);
+                assertEquals(16, node.get("id").binaryValue().length);
+                assertEquals(scheduledDate.toEpochSecond(ZoneOffset.UTC), node.get("scheduledDate").get(0).longValue());
+                assertEquals(0, node.get("scheduledDate").get(1).intValue());
+                assertEquals(TaskResponseDTO.from(task).scheduledDate(),
+                                WireFormat.cborMapper().readValue(body, TaskResponseDTO.class).scheduledDate());
+        }
+
+        @Test
+        void shouldAcceptCborRequestBody() throws Exception {
+
+                LocalDateTime scheduledDate = LocalDateTime.of(2030, 1, 1, 10, 0);
+                when(taskService.create(any(CreateTaskDTO.class))).thenReturn(new Task("Tarefa binária", null));
+
+                mockMvc.perform(post("/tasks")
+                                .contentType(MediaType.APPLICATION_CBOR)
+                                .content(WireFormat.cborMapper().writeValueAsBytes(
+                                                new CreateTaskDTO("Tarefa binária", scheduledDate))))
+                                .andExpect(status().isCreated());
+
+                ArgumentCaptor<CreateTaskDTO> captor = ArgumentCaptor.forClass(CreateTaskDTO.class);
+                verify(taskService).create(captor.capture());
+                assertEquals(scheduledDate, captor.getValue().scheduledDate());
+        }
+
+        @Test
+        void shouldReturnPreAggregatedStatistics() throws Exception {
+
+                LocalDate day = LocalDate.of(2030, 3, 1);
+                when(taskService.statistics(day, day.plusDays(7))).thenReturn(new TaskStats(5, 3, 2, 1, 1,
+                                new TreeMap<>(Map.of(day, 4L)), new TreeMap<>(Map.of(day.atTime(9, 0), 4L))));
+
+                mockMvc.perform(get("/tasks/stats").param("from", "2030-03-01").param("to", "2030-03-08"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.total").value(5))
+                                .andExpect(jsonPath("$.open").value(3))
+                                .andExpect(jsonPath("$.overdue").value(1))
+                                .andExpect(jsonPath("$.perDay['2030-03-01']").value(4))
+                                .andExpect(jsonPath("$.perHour['2030-03-01T09:00']").value(4));
+        }
+
+        @Test
+        void shouldStreamChangesResumingAfterLastEventId() throws Exception {
+
+                Task skipped = new Task("Tarefa já vista", null);
+                Task task = new Task("Tarefa nova", null);
+                long seen = changeLog.head();
+                changeLog.append(TaskChangedEvent.created(skipped));
+                changeLog.append(TaskChangedEvent.created(task));
+
+                MvcResult result = mockMvc.perform(get("/tasks/changes")
+                                .header(TaskController.LAST_EVENT_ID, seen))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+                changeLog.append(TaskChangedEvent.deleted(task.getId(), task));
+
+                String body = awaitContent(result, "event:deleted");
+                assertFalse(body.contains(skipped.getId().toString()));
+                assertTrue(body.contains("id:" + (seen + 1) + "\nevent:created\ndata:{\"sequence\":" + (seen + 1)));
+                assertTrue(body.contains("id:" + (seen + 2) + "\nevent:deleted"));
+        }
+
+        private static String awaitContent(MvcResult result, String expected) throws Exception {
+                long deadline = System.nanoTime() + 5_000_000_000L;
+                String body = result.getResponse().getContentAsString();
+                while (!body.contains(expected) && System.nanoTime() < deadline) {
+                        Thread.sleep(10);
+                        body = result.getResponse().getContentAsString();
+                }
+                return body;
+        }
+
 }
@@ -0,0 +1,48 @@
+package br.com.gms.api.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import br.com.gms.api.model.Task;
+
+class TaskJsonWriterTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    void shouldWriteTheSameJsonAsTheResponseDTOs() throws Exception {
+        List<Task> tasks = List.of(
+                Task.restore(new UUID(0, 1), "Sem data", null, LocalDateTime.of(2030, 1, 1, 10, 0), false, 0),
+                Task.restore(UUID.randomUUID(), "Com \"aspas\" e acentuação", LocalDateTime.of(2030, 1, 1, 23, 59, 59),
+                        LocalDateTime.of(2030, 1, 1, 0, 0, 0, 120_000_000), true, 3),
+                Task.restore(new UUID(-1, -1), "Nanos", LocalDateTime.of(2031, 12, 31, 8, 5, 1, 1),
+                        LocalDateTime.of(999, 2, 28, 7, 0, 0, 123_456_000), null, 1),
+                new Task("Agora", LocalDateTime.now().plusDays(1)));
+
+        String expected = objectMapper.writeValueAsString(tasks.stream().map(TaskResponseDTO::from).toList());
+
+        assertEquals(expected, objectMapper.writeValueAsString(new TaskListResponse(tasks)));
+    }
+
+    @Test
+    void shouldFallBackToTheResponseDTOsWhenDatesAreTimestamps() throws Exception {
+        ObjectMapper timestamps = Jackson2ObjectMapperBuilder.json().build();
+        List<Task> tasks = List.of(new Task("Agora", LocalDateTime.now().plusDays(1)));
+
+        String expected = timestamps.writeValueAsString(tasks.stream().map(TaskResponseDTO::from).toList());
+
+        assertEquals(expected, timestamps.writeValueAsString(new TaskListResponse(tasks)));
+    }
+
+}
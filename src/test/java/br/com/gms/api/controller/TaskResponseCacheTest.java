@@ -0,0 +1,121 @@
+package br.com.gms.api.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import br.com.gms.api.controller.TaskResponseCache.CachedResponse;
+import br.com.gms.api.model.Task;
+import br.com.gms.api.service.TaskChangedEvent;
+import br.com.gms.api.service.TaskChangedEvent.Type;
+
+class TaskResponseCacheTest {
+
+    private final TaskResponseCache cache = new TaskResponseCache(true, DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void shouldServeRepeatedReadsFromCache() {
+        Task task = new Task("Estudar cache", LocalDateTime.now().plusDays(1));
+
+        load(TaskResponseCache.byId(task.getId()));
+        load(TaskResponseCache.byId(task.getId()));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldInvalidateIdAndDatesOfChangedTask() {
+        LocalDateTime before = LocalDateTime.now().plusDays(1);
+        LocalDateTime after = before.plusDays(2);
+        Task previous = new Task("Estudar cache", before);
+        Task current = previous.copy();
+        current.changeScheduledDate(after);
+
+        load(TaskResponseCache.byId(previous.getId()));
+        load(TaskResponseCache.byScheduledDate(before));
+        load(TaskResponseCache.byDay(after.toLocalDate()));
+        cache.onTaskChanged(TaskChangedEvent.changed(Type.UPDATED, previous, current));
+        load(TaskResponseCache.byId(previous.getId()));
+        load(TaskResponseCache.byScheduledDate(before));
+        load(TaskResponseCache.byDay(after.toLocalDate()));
+
+        assertEquals(6, loads.get());
+    }
+
+    @Test
+    void shouldInvalidateEveryWireFormatOfChangedTask() {
+        Task task = new Task("Estudar cache", LocalDateTime.now().plusDays(1));
+
+        load(TaskResponseCache.byId(task.getId(), WireFormat.JSON));
+        load(TaskResponseCache.byId(task.getId(), WireFormat.CBOR));
+        cache.onTaskChanged(TaskChangedEvent.deleted(task.getId(), task));
+        load(TaskResponseCache.byId(task.getId(), WireFormat.JSON));
+        load(TaskResponseCache.byId(task.getId(), WireFormat.CBOR));
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void shouldKeepUnrelatedEntries() {
+        Task cached = new Task("Em cache", LocalDateTime.now().plusDays(1));
+        Task deleted = new Task("Removida", LocalDateTime.now().plusDays(5));
+
+        load(TaskResponseCache.byId(cached.getId()));
+        cache.onTaskChanged(TaskChangedEvent.deleted(deleted.getId(), deleted));
+        load(TaskResponseCache.byId(cached.getId()));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldAlwaysLoadWhenDisabled() {
+        TaskResponseCache disabled = new TaskResponseCache(false, DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+        Object key = TaskResponseCache.byDay(LocalDateTime.now().toLocalDate());
+
+        disabled.get(key, this::response);
+        disabled.get(key, this::response);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldGzipLargeBodiesOnceWhenLoading() throws IOException {
+        TaskResponseCache compressing = new TaskResponseCache(true, DataSize.ofMegabytes(1), Duration.ofMinutes(1),
+                true, DataSize.ofKilobytes(2));
+        byte[] large = "{\"description\":\"Estudar compressão\"},".repeat(200).getBytes(StandardCharsets.UTF_8);
+
+        CachedResponse small = compressing.get(TaskResponseCache.byId(UUID.randomUUID()), this::response);
+        CachedResponse big = compressing.get(TaskResponseCache.byDay(LocalDate.now()),
+                () -> new CachedResponse(large, "\"1\""));
+
+        assertNull(small.gzipped());
+        assertTrue(big.gzipped().length < large.length);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(big.gzipped()))) {
+            assertArrayEquals(large, gzip.readAllBytes());
+        }
+    }
+
+    private void load(Object key) {
+        cache.get(key, this::response);
+    }
+
+    private CachedResponse response() {
+        return new CachedResponse(new byte[] { '[', ']' }, "\"" + loads.incrementAndGet() + "\"");
+    }
+
+}
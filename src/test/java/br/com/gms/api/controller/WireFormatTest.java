@@ -0,0 +1,65 @@
+package br.com.gms.api.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.gms.api.model.Task;
+
+class WireFormatTest {
+
+    private final ObjectMapper cbor = WireFormat.cborMapper();
+
+    @Test
+    void shouldPreferFormatWithHighestQuality() {
+        assertEquals(WireFormat.JSON, WireFormat.negotiate(null));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("*/*"));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("text/html"));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("não é um tipo"));
+        assertEquals(WireFormat.CBOR, WireFormat.negotiate("application/cbor"));
+        assertEquals(WireFormat.CBOR, WireFormat.negotiate("application/json;q=0.5, application/cbor"));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("application/cbor;q=0.2, application/*"));
+    }
+
+    @Test
+    void shouldRoundTripTaskWithEpochDates() throws Exception {
+        TaskResponseDTO dto = TaskResponseDTO.from(new Task("Revisar contrato", LocalDateTime.of(2030, 5, 1, 8, 30)));
+
+        TaskResponseDTO decoded = cbor.readValue(cbor.writeValueAsBytes(dto), TaskResponseDTO.class);
+
+        assertEquals(dto.id(), decoded.id());
+        assertEquals(dto.scheduledDate(), decoded.scheduledDate());
+        assertEquals(dto.creationDate(), decoded.creationDate());
+    }
+
+    @Test
+    void shouldKeepSubMillisecondPrecisionAndReadLegacyMillis() throws Exception {
+        LocalDateTime precise = LocalDateTime.of(2030, 5, 1, 8, 30, 15, 123_456_789);
+
+        byte[] encoded = cbor.writeValueAsBytes(precise);
+
+        assertEquals(precise, cbor.readValue(encoded, LocalDateTime.class));
+        assertEquals(precise.toEpochSecond(ZoneOffset.UTC), cbor.readTree(encoded).get(0).longValue());
+        assertEquals(123_456_789, cbor.readTree(encoded).get(1).intValue());
+        // Clientes que ainda mandam milissegundos continuam aceitos
+        long millis = precise.toInstant(ZoneOffset.UTC).toEpochMilli();
+        assertEquals(precise.withNano(123_000_000), cbor.readValue(cbor.writeValueAsBytes(millis), LocalDateTime.class));
+    }
+
+    @Test
+    void shouldBeSmallerThanJson() throws Exception {
+        TaskResponseDTO dto = TaskResponseDTO.from(new Task("Revisar contrato", LocalDateTime.of(2030, 5, 1, 8, 30)));
+
+        int binary = cbor.writeValueAsBytes(dto).length;
+        int json = new ObjectMapper().findAndRegisterModules().writeValueAsBytes(dto).length;
+
+        assertTrue(binary < json * 0.7, binary + " bytes em CBOR contra " + json + " em JSON");
+    }
+
+}
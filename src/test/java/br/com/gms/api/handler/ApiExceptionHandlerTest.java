@@ -0,0 +1,57 @@
+package br.com.gms.api.handler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import br.com.gms.api.exception.ApiErrorResponse;
+import br.com.gms.api.exception.BusinessException;
+import br.com.gms.api.exception.TaskConflictException;
+import br.com.gms.api.exception.TaskNotFoundException;
+import br.com.gms.api.exception.TaskQueueFullException;
+
+class ApiExceptionHandlerTest {
+
+    private final ApiExceptionHandler handler = new ApiExceptionHandler();
+
+    @Test
+    void shouldNotCaptureStackTracesOfExpectedErrors() {
+        UUID id = UUID.randomUUID();
+
+        assertEquals(0, new TaskNotFoundException(id).getStackTrace().length);
+        assertEquals(0, new BusinessException("Tarefa já concluída").getStackTrace().length);
+        assertEquals(0, new TaskConflictException(id).getStackTrace().length);
+    }
+
+    @Test
+    void shouldBuildErrorResponsesFromTemplates() {
+        UUID id = UUID.randomUUID();
+
+        ResponseEntity<ApiErrorResponse> notFound = handler.handleNotFound(new TaskNotFoundException(id));
+        ResponseEntity<ApiErrorResponse> business = handler.handleBusiness(new BusinessException("Tarefa já aberta"));
+
+        assertEquals(404, notFound.getStatusCode().value());
+        assertEquals(404, notFound.getBody().status());
+        assertEquals("Not Found", notFound.getBody().error());
+        assertEquals("Tarefa não encontrada. Id: " + id, notFound.getBody().message());
+        assertNotNull(notFound.getBody().timestamp());
+        assertEquals(422, business.getBody().status());
+        assertEquals("Unprocessable Entity", business.getBody().error());
+        assertEquals("Tarefa já aberta", business.getBody().message());
+    }
+
+    @Test
+    void shouldAskClientsToRetryWhenWriteQueueIsFull() {
+        ResponseEntity<ApiErrorResponse> response = handler.handleQueueFull(new TaskQueueFullException());
+
+        assertEquals(429, response.getStatusCode().value());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("Too Many Requests", response.getBody().error());
+    }
+
+}
@@ -14,7 +14,7 @@ public class TaskDTOTestBuilder {
     private UUID id = UUID.randomUUID();
     private String description = "Tarefa padrão";
     private LocalDateTime scheduledDate = LocalDateTime.of(
-            LocalDate.of(2026, 3, 15),
+            LocalDate.now().plusMonths(1),
             LocalTime.of(9, 0));
 
     private TaskDTOTestBuilder() {
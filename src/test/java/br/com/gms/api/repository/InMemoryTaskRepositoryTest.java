@@ -0,0 +1,123 @@
+package br.com.gms.api.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.com.gms.api.model.Task;
+
+class InMemoryTaskRepositoryTest {
+
+    private InMemoryTaskRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryTaskRepository();
+    }
+
+    @Test
+    void shouldFindSavedTaskById() {
+        Task task = repository.save(new Task("Tarefa", null));
+
+        assertSame(task, repository.findById(task.getId()).orElseThrow());
+    }
+
+    @Test
+    void shouldReturnEmptyWhenIdIsUnknown() {
+        assertTrue(repository.findById(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void shouldDeleteOnlyExistingTasks() {
+        Task task = repository.save(new Task("Tarefa", null));
+
+        assertEquals(task.getId(), repository.deleteById(task.getId()).orElseThrow().getId());
+        assertTrue(repository.deleteById(task.getId()).isEmpty());
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void shouldMoveTaskBetweenCompletionIndexes() {
+        Task stored = repository.save(new Task("Tarefa", null));
+        repository.save(new Task("Outra tarefa", null));
+        Task concluded = stored.copy();
+        concluded.conclude();
+
+        repository.compareAndSave(concluded, stored.getVersion());
+
+        assertEquals(List.of(concluded), repository.findByCompleted(true));
+        assertEquals(1, repository.countByCompleted(false));
+        repository.deleteById(stored.getId());
+        assertEquals(0, repository.countByCompleted(true));
+    }
+
+    @Test
+    void shouldSaveOnlyWhenStoredVersionIsTheExpectedOne() {
+        Task stored = repository.save(new Task("Tarefa", null));
+        Task first = stored.copy();
+        Task second = stored.copy();
+        first.conclude();
+        second.changeDescription("Tarefa alterada");
+
+        assertTrue(repository.compareAndSave(first, stored.getVersion()));
+        assertFalse(repository.compareAndSave(second, stored.getVersion()));
+
+        Task loaded = repository.findById(stored.getId()).orElseThrow();
+        assertSame(first, loaded);
+        assertEquals("Tarefa", loaded.getDescription());
+    }
+
+    @Test
+    void shouldCountOnlyEffectiveModifications() {
+        Task task = repository.save(new Task("Tarefa", null));
+        long afterSave = repository.modificationCount();
+
+        repository.findById(task.getId());
+        repository.deleteById(UUID.randomUUID());
+        assertEquals(afterSave, repository.modificationCount());
+
+        repository.deleteById(task.getId());
+        assertTrue(repository.modificationCount() > afterSave);
+    }
+
+    @Test
+    void shouldKeepEveryTaskUnderConcurrentWrites() throws Exception {
+        int threads = 8;
+        int tasksPerThread = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < tasksPerThread; j++) {
+                        Task task = repository.save(new Task("Tarefa " + j, null));
+                        if (j % 2 == 0) {
+                            repository.deleteById(task.getId());
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(threads * tasksPerThread / 2, repository.count());
+        assertEquals(threads * tasksPerThread / 2, repository.findAll().size());
+    }
+
+}
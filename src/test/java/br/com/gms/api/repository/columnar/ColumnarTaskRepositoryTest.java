@@ -0,0 +1,171 @@
+package br.com.gms.api.repository.columnar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.com.gms.api.model.Task;
+import br.com.gms.api.repository.InMemoryTaskRepository;
+
+class ColumnarTaskRepositoryTest {
+
+    private ColumnarTaskRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ColumnarTaskRepository();
+    }
+
+    @Test
+    void shouldRestoreEveryFieldOfASavedTask() {
+        LocalDateTime scheduledDate = LocalDateTime.now().plusDays(1);
+        Task task = new Task("Tarefa com acentuação", scheduledDate);
+        task.conclude();
+        repository.save(task);
+
+        Task loaded = repository.findById(task.getId()).orElseThrow();
+
+        assertEquals(task.getId(), loaded.getId());
+        assertEquals("Tarefa com acentuação", loaded.getDescription());
+        assertEquals(scheduledDate, loaded.getScheduledDate());
+        assertEquals(task.getCreationDate(), loaded.getCreationDate());
+        assertTrue(loaded.getCompleted());
+        assertEquals(1, loaded.getVersion());
+    }
+
+    @Test
+    void shouldKeepRemainingTasksReachableAfterDeletes() {
+        List<Task> tasks = IntStream.range(0, 5_000).mapToObj(i -> new Task("Tarefa " + i, null)).toList();
+        repository.saveAll(tasks);
+
+        for (int i = 0; i < tasks.size(); i += 3) {
+            assertEquals("Tarefa " + i, repository.deleteById(tasks.get(i).getId()).orElseThrow().getDescription());
+        }
+
+        assertEquals(3_333, repository.count());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(i % 3 != 0, repository.findById(tasks.get(i).getId()).isPresent());
+        }
+        assertTrue(repository.deleteById(tasks.get(0).getId()).isEmpty());
+    }
+
+    @Test
+    void shouldWalkPagesInIdOrder() {
+        List<Task> tasks = new ArrayList<>(IntStream.range(0, 250).mapToObj(i -> new Task("Tarefa " + i, null)).toList());
+        repository.saveAll(tasks);
+        tasks.sort(Comparator.comparing(Task::getId));
+
+        List<UUID> walked = new ArrayList<>();
+        List<Task> page = repository.findPage(null, 100);
+        while (!page.isEmpty()) {
+            page.forEach(task -> walked.add(task.getId()));
+            page = repository.findPage(page.get(page.size() - 1).getId(), 100);
+        }
+
+        assertEquals(tasks.stream().map(Task::getId).toList(), walked);
+    }
+
+    @Test
+    void shouldQueryByScheduledDateAndRange() {
+        LocalDateTime date = LocalDateTime.now().plusDays(2);
+        repository.save(new Task("Agendada", date));
+        repository.save(new Task("Depois", date.plusDays(1)));
+        repository.save(new Task("Sem data", null));
+
+        assertEquals(1, repository.findByScheduledDate(date).size());
+        assertEquals("Sem data", repository.findByScheduledDate(null).get(0).getDescription());
+        assertEquals(List.of("Agendada", "Depois"),
+                repository.findByScheduledDateBetween(date, null).stream().map(Task::getDescription).toList());
+        assertEquals(1, repository.findByScheduledDateBetween(null, date.plusHours(1)).size());
+    }
+
+    @Test
+    void shouldKeepIndexesInStepWithReschedulesAndDeletes() {
+        InMemoryTaskRepository oracle = new InMemoryTaskRepository();
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+        Random random = new Random(42);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            Task task = Task.restore(UUID.randomUUID(), "Tarefa " + i,
+                    random.nextInt(5) == 0 ? null : base.plusHours(random.nextInt(48)), base, false, 0);
+            tasks.add(task);
+        }
+        repository.saveAll(tasks);
+        oracle.saveAll(tasks);
+        for (int i = 0; i < 3_000; i++) {
+            Task task = tasks.get(random.nextInt(tasks.size()));
+            if (random.nextInt(4) == 0) {
+                repository.deleteById(task.getId());
+                oracle.deleteById(task.getId());
+            } else {
+                Task moved = Task.restore(task.getId(), task.getDescription(),
+                        random.nextInt(5) == 0 ? null : base.plusHours(random.nextInt(48)), base,
+                        random.nextBoolean(), task.getVersion() + 1);
+                repository.save(moved);
+                oracle.save(moved);
+            }
+        }
+
+        assertEquals(ids(oracle.findPage(null, 500)), ids(repository.findPage(null, 500)));
+        UUID after = oracle.findPage(null, 700).get(699).getId();
+        assertEquals(ids(oracle.findPage(after, 300)), ids(repository.findPage(after, 300)));
+        assertEquals(ids(oracle.findByScheduledDate(base.plusHours(7))),
+                ids(repository.findByScheduledDate(base.plusHours(7))));
+        assertEquals(Set.copyOf(ids(oracle.findByScheduledDate(null))),
+                Set.copyOf(ids(repository.findByScheduledDate(null))));
+        assertEquals(ids(oracle.findByScheduledDateBetween(base.plusHours(10), base.plusHours(20))),
+                ids(repository.findByScheduledDateBetween(base.plusHours(10), base.plusHours(20))));
+        assertEquals(ids(oracle.findByScheduledDateBetween(null, null)),
+                ids(repository.findByScheduledDateBetween(null, null)));
+        assertEquals(Set.copyOf(ids(oracle.findByCompleted(true))), Set.copyOf(ids(repository.findByCompleted(true))));
+    }
+
+    @Test
+    void shouldSaveOnlyWhenStoredVersionIsTheExpectedOne() {
+        Task stored = repository.save(new Task("Tarefa", null));
+        Task first = stored.copy();
+        Task second = stored.copy();
+        first.changeDescription("Primeira alteração");
+        second.changeDescription("Segunda alteração");
+
+        assertTrue(repository.compareAndSave(first, stored.getVersion()));
+        assertFalse(repository.compareAndSave(second, stored.getVersion()));
+        assertTrue(repository.compareAndSaveAll(List.of(second), Map.of(second.getId(), 0L)).isEmpty());
+
+        assertEquals("Primeira alteração", repository.findById(stored.getId()).orElseThrow().getDescription());
+    }
+
+    @Test
+    void shouldReclaimDescriptionBytesOfRewrittenTasks() {
+        Task task = repository.save(new Task("x".repeat(100_000), null));
+        long allocated = repository.descriptionBytes();
+
+        for (int i = 0; i < 2_000; i++) {
+            Task changed = task.copy();
+            changed.changeDescription((i % 2 == 0 ? "y" : "z").repeat(100_000));
+            repository.save(changed);
+            task = changed;
+        }
+
+        assertEquals(task.getDescription(), repository.findById(task.getId()).orElseThrow().getDescription());
+        assertTrue(repository.descriptionBytes() < allocated + (128L << 20));
+    }
+
+    private static List<UUID> ids(List<Task> tasks) {
+        return tasks.stream().map(Task::getId).toList();
+    }
+
+}
@@ -0,0 +1,131 @@
+package br.com.gms.api.repository.jpa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.gms.api.model.Task;
+
+@DataJpaTest
+@Import(JpaTaskRepository.class)
+@TestPropertySource(properties = "api.task.store=jpa")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JpaTaskRepositoryTest {
+
+    @Autowired
+    private JpaTaskRepository repository;
+
+    @Autowired
+    private TaskJpaRepository entities;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shouldPersistAndUpdateTask() {
+        Task task = repository.save(new Task("Tarefa persistida", LocalDateTime.now().plusDays(1)));
+
+        task.changeDescription("Tarefa alterada");
+        task.conclude();
+        repository.save(task);
+
+        Task loaded = repository.findById(task.getId()).orElseThrow();
+        assertEquals("Tarefa alterada", loaded.getDescription());
+        assertTrue(loaded.getCompleted());
+        assertEquals(task.getCreationDate(), loaded.getCreationDate());
+        assertEquals(2, loaded.getVersion());
+
+        entities.deleteAll();
+    }
+
+    @Test
+    void shouldUpdateOnlyWhenStoredVersionIsTheExpectedOne() {
+        Task stored = repository.save(new Task("Tarefa", null));
+        Task first = stored.copy();
+        Task second = stored.copy();
+        first.conclude();
+        second.changeDescription("Tarefa alterada");
+
+        assertTrue(repository.compareAndSave(first, stored.getVersion()));
+        assertFalse(repository.compareAndSave(second, stored.getVersion()));
+        assertEquals(Set.of(), repository.compareAndSaveAll(List.of(second), Map.of(second.getId(), 0L)));
+
+        Task loaded = repository.findById(stored.getId()).orElseThrow();
+        assertTrue(loaded.getCompleted());
+        assertEquals("Tarefa", loaded.getDescription());
+        assertEquals(1, loaded.getVersion());
+
+        entities.deleteAll();
+    }
+
+    @Test
+    void shouldSaveAllInOneBatchAndPageById() {
+        List<Task> tasks = IntStream.range(0, 25).mapToObj(i -> new Task("Tarefa " + i, null)).toList();
+
+        repository.saveAll(tasks);
+
+        List<Task> first = repository.findPage(null, 10);
+        List<Task> second = repository.findPage(first.get(9).getId(), 20);
+        assertEquals(25, repository.count());
+        assertEquals(10, first.size());
+        assertEquals(15, second.size());
+
+        entities.deleteAll();
+    }
+
+    @Test
+    void shouldQueryByScheduledDateAndDelete() {
+        LocalDateTime date = LocalDateTime.now().plusDays(2).withNano(0);
+        Task scheduled = repository.save(new Task("Agendada", date));
+        repository.save(new Task("Depois", date.plusDays(1)));
+        repository.save(new Task("Sem data", null));
+
+        assertEquals(1, repository.findByScheduledDate(date).size());
+        assertEquals(1, repository.findByScheduledDate(null).size());
+        assertEquals(2, repository.findByScheduledDateBetween(date, null).size());
+        assertEquals(1, repository.findByScheduledDateBetween(date, date.plusHours(1)).size());
+
+        assertEquals(date, repository.deleteById(scheduled.getId()).orElseThrow().getScheduledDate());
+        assertTrue(repository.deleteById(scheduled.getId()).isEmpty());
+
+        entities.deleteAll();
+    }
+
+    @Test
+    void shouldCountModificationsOnlyOnceCommitted() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long before = repository.modificationCount();
+
+        transaction.executeWithoutResult(status -> {
+            repository.save(new Task("Na transação", null));
+            assertEquals(before, repository.modificationCount());
+        });
+        assertEquals(before + 1, repository.modificationCount());
+
+        transaction.executeWithoutResult(status -> {
+            repository.save(new Task("Desfeita", null));
+            status.setRollbackOnly();
+        });
+        assertEquals(before + 1, repository.modificationCount());
+        assertEquals(1, repository.count());
+
+        entities.deleteAll();
+    }
+
+}
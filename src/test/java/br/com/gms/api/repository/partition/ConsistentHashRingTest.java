@@ -0,0 +1,59 @@
+package br.com.gms.api.repository.partition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 100_000;
+
+    @Test
+    void shouldSpreadKeysEvenlyAcrossNodes() {
+        ConsistentHashRing<String> ring = ring(4);
+        int[] counts = new int[4];
+        for (int i = 0; i < KEYS; i++) {
+            counts[ring.ownerIndex(UUID.randomUUID())]++;
+        }
+
+        for (int count : counts) {
+            assertTrue(Math.abs(count - KEYS / 4) < KEYS / 4 * 0.2, "Distribuição desigual: " + count);
+        }
+    }
+
+    @Test
+    void shouldMoveOnlyKeysTakenByTheNewNode() {
+        ConsistentHashRing<String> before = ring(4);
+        ConsistentHashRing<String> after = ring(5);
+
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            UUID id = UUID.randomUUID();
+            String owner = after.owner(id);
+            if (!owner.equals(before.owner(id))) {
+                assertEquals("shard-4", owner);
+                moved++;
+            }
+        }
+
+        assertTrue(Math.abs(moved - KEYS / 5) < KEYS / 5 * 0.2, "Chaves movidas: " + moved);
+    }
+
+    @Test
+    void shouldRejectEmptyRing() {
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing<>(List.of(), List.of(), 8));
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing<>(List.of("a"), List.of("a"), 0));
+    }
+
+    private static ConsistentHashRing<String> ring(int nodes) {
+        List<String> names = IntStream.range(0, nodes).mapToObj(i -> "shard-" + i).toList();
+        return new ConsistentHashRing<>(names, names, 128);
+    }
+
+}
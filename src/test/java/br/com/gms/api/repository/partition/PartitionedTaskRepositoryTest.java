@@ -0,0 +1,159 @@
+package br.com.gms.api.repository.partition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.util.unit.DataSize;
+
+import br.com.gms.api.model.Task;
+import br.com.gms.api.repository.InMemoryTaskRepository;
+import br.com.gms.api.repository.TaskRepository;
+import br.com.gms.api.repository.wal.MappedTaskJournal;
+
+class PartitionedTaskRepositoryTest {
+
+    private Map<String, TaskRepository> shards;
+    private PartitionedTaskRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        shards = new LinkedHashMap<>();
+        IntStream.range(0, 3).forEach(i -> shards.put("shard-" + i, new InMemoryTaskRepository()));
+        repository = new PartitionedTaskRepository(shards, 64);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        repository.destroy();
+    }
+
+    @Test
+    void shouldStoreEachTaskOnlyInItsOwningShard() {
+        List<Task> tasks = IntStream.range(0, 300).mapToObj(i -> new Task("Tarefa " + i, null)).toList();
+        repository.saveAll(tasks);
+
+        for (Task task : tasks) {
+            TaskRepository owner = repository.shardOf(task.getId());
+            for (TaskRepository shard : shards.values()) {
+                assertEquals(shard == owner, shard.findById(task.getId()).isPresent());
+            }
+        }
+        assertEquals(300, repository.count());
+        shards.values().forEach(shard -> assertTrue(shard.count() > 0));
+    }
+
+    @Test
+    void shouldWalkPagesInIdOrderAcrossShards() {
+        List<Task> tasks = new ArrayList<>(IntStream.range(0, 250).mapToObj(i -> new Task("Tarefa " + i, null)).toList());
+        repository.saveAll(tasks);
+        tasks.sort(Comparator.comparing(Task::getId));
+
+        List<UUID> walked = new ArrayList<>();
+        List<Task> page = repository.findPage(null, 40);
+        while (!page.isEmpty()) {
+            page.forEach(task -> walked.add(task.getId()));
+            page = repository.findPage(page.get(page.size() - 1).getId(), 40);
+        }
+
+        assertEquals(tasks.stream().map(Task::getId).toList(), walked);
+    }
+
+    @Test
+    void shouldMergeScheduledRangesInDateOrder() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Task> tasks = IntStream.range(0, 100).mapToObj(i -> new Task("Tarefa " + i, start.plusHours(i % 25))).toList();
+        repository.saveAll(tasks);
+        InMemoryTaskRepository single = new InMemoryTaskRepository();
+        single.saveAll(tasks);
+
+        List<Task> found = repository.findByScheduledDateBetween(start.plusHours(5), start.plusHours(20));
+
+        List<Task> expected = single.findByScheduledDateBetween(start.plusHours(5), start.plusHours(20));
+        assertEquals(expected.stream().map(Task::getId).toList(), found.stream().map(Task::getId).toList());
+        assertEquals(4, repository.findByScheduledDate(start.plusHours(7)).size());
+    }
+
+    @Test
+    void shouldApplyBatchesAcrossShardsAndReportEachOutcome() {
+        List<Task> stored = repository.saveAll(IntStream.range(0, 30).mapToObj(i -> new Task("Tarefa " + i, null)).toList());
+        List<Task> changed = stored.stream().map(Task::copy).toList();
+        changed.forEach(Task::conclude);
+        Map<UUID, Long> expected = stored.stream().collect(Collectors.toMap(Task::getId, Task::getVersion));
+        expected.put(stored.get(0).getId(), 7L);
+
+        Set<UUID> saved = repository.compareAndSaveAll(changed, expected);
+
+        assertEquals(29, saved.size());
+        assertFalse(saved.contains(stored.get(0).getId()));
+        assertEquals(29, repository.countByCompleted(true));
+        assertEquals(1, repository.findByCompleted(false).size());
+
+        List<UUID> ids = stored.stream().map(Task::getId).toList();
+        assertEquals(30, repository.findAllById(ids).size());
+        assertEquals(Set.copyOf(ids.subList(0, 10)),
+                repository.deleteAllById(ids.subList(0, 10)).stream().map(Task::getId).collect(Collectors.toSet()));
+        assertEquals(20, repository.count());
+    }
+
+    @Test
+    void shouldRecoverEachShardFromItsOwnJournal(@TempDir Path directory) throws Exception {
+        PartitionedTaskRepository durable = new PartitionedTaskRepository(3, 64, journal(directory));
+        List<Task> tasks = durable.saveAll(IntStream.range(0, 60).mapToObj(i -> new Task("Tarefa " + i, null)).toList());
+        durable.deleteById(tasks.get(0).getId());
+        durable.destroy();
+
+        PartitionedTaskRepository recovered = new PartitionedTaskRepository(3, 64, journal(directory));
+        try {
+            assertEquals(59, recovered.count());
+            assertTrue(recovered.findById(tasks.get(0).getId()).isEmpty());
+            tasks.subList(1, 60).forEach(task -> assertTrue(recovered.findById(task.getId()).isPresent()));
+            assertEquals(Set.of("shard-0", "shard-1", "shard-2"), journal(directory).getObject().partitions());
+        } finally {
+            recovered.destroy();
+        }
+    }
+
+    @Test
+    void shouldRefuseJournalsWrittenWithAnotherPartitionCount(@TempDir Path directory) throws Exception {
+        new PartitionedTaskRepository(3, 64, journal(directory)).destroy();
+
+        assertThrows(IllegalStateException.class, () -> new PartitionedTaskRepository(2, 64, journal(directory)));
+    }
+
+    @Test
+    void shouldRouteTheSameIdToTheSameShardRegardlessOfInstance() {
+        PartitionedTaskRepository other = new PartitionedTaskRepository(shards, 64);
+        for (int i = 0; i < 1_000; i++) {
+            UUID id = UUID.randomUUID();
+            assertSame(repository.shardOf(id), other.shardOf(id));
+        }
+    }
+
+    private static ObjectProvider<MappedTaskJournal> journal(Path directory) {
+        MappedTaskJournal journal = new MappedTaskJournal(directory, DataSize.ofMegabytes(1), Duration.ofMinutes(5));
+        return new StaticListableBeanFactory(Map.of("journal", journal)).getBeanProvider(MappedTaskJournal.class);
+    }
+
+}
@@ -0,0 +1,175 @@
+package br.com.gms.api.repository.wal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import br.com.gms.api.model.Task;
+import br.com.gms.api.repository.InMemoryTaskRepository;
+
+class MappedTaskJournalTest {
+
+    @TempDir
+    private Path directory;
+
+    private final List<MappedTaskJournal> journals = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (MappedTaskJournal journal : journals) {
+            journal.destroy();
+        }
+    }
+
+    @Test
+    void shouldReplayLogAfterRestart() throws Exception {
+        LocalDateTime scheduledDate = LocalDateTime.now().plusDays(1);
+        InMemoryTaskRepository repository = new InMemoryTaskRepository(journal());
+        Task kept = repository.save(new Task("Tarefa mantida", scheduledDate));
+        Task deleted = repository.save(new Task("Tarefa removida", null));
+        Task changed = kept.copy();
+        changed.conclude();
+        repository.compareAndSave(changed, kept.getVersion());
+        repository.deleteById(deleted.getId());
+        restart();
+
+        InMemoryTaskRepository recovered = new InMemoryTaskRepository(journal());
+
+        assertEquals(1, recovered.count());
+        Task loaded = recovered.findById(kept.getId()).orElseThrow();
+        assertEquals("Tarefa mantida", loaded.getDescription());
+        assertEquals(scheduledDate, loaded.getScheduledDate());
+        assertEquals(kept.getCreationDate(), loaded.getCreationDate());
+        assertTrue(loaded.getCompleted());
+        assertEquals(1, loaded.getVersion());
+        assertEquals(1, recovered.findByScheduledDate(scheduledDate).size());
+    }
+
+    @Test
+    void shouldRecoverFromSnapshotPlusLogTailAndDropOldSegments() throws Exception {
+        MappedTaskJournal journal = journal();
+        InMemoryTaskRepository repository = new InMemoryTaskRepository(journal);
+        for (int i = 0; i < 200; i++) {
+            repository.save(new Task("Antes do snapshot " + i, null));
+        }
+        journal.snapshot();
+        Task after = repository.save(new Task("Depois do snapshot", null));
+        repository.deleteById(repository.findPage(null, 1).get(0).getId());
+        restart();
+
+        InMemoryTaskRepository recovered = new InMemoryTaskRepository(journal());
+
+        assertEquals(200, recovered.count());
+        assertTrue(recovered.findById(after.getId()).isPresent());
+        assertEquals(1, files("snapshot-").size());
+        assertTrue(files("segment-").size() < 4);
+    }
+
+    @Test
+    void shouldNotSnapshotPastARecordWhoseTaskIsNotVisibleYet() throws Exception {
+        MappedTaskJournal journal = journal();
+        List<Task> visible = new CopyOnWriteArrayList<>();
+        journal.open(task -> { }, id -> { }, visible);
+        Task task = new Task("Gravada durante o snapshot", null);
+        journal.saved(task);
+
+        // O registro já está no log, mas a tarefa ainda não entrou na coleção
+        Thread snapshot = Thread.ofPlatform().start(() -> {
+            try {
+                journal.snapshot();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        snapshot.join(200);
+        assertTrue(snapshot.isAlive());
+
+        visible.add(task);
+        journal.published();
+        snapshot.join();
+        restart();
+
+        InMemoryTaskRepository recovered = new InMemoryTaskRepository(journal());
+
+        assertTrue(recovered.findById(task.getId()).isPresent());
+    }
+
+    @Test
+    void shouldIgnoreTornRecordAtTheEndOfTheLog() throws Exception {
+        InMemoryTaskRepository repository = new InMemoryTaskRepository(journal());
+        Task task = repository.save(new Task("Tarefa", null));
+        restart();
+
+        Path segment = files("segment-").get(0);
+        long end = Files.size(segment) - 4096;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            ByteBuffer record = ByteBuffer.allocate(Integer.BYTES * 3).putInt(4).putInt(0xBAD).putInt(1).flip();
+            channel.write(record, firstFreeOffset(segment, end));
+        }
+
+        InMemoryTaskRepository recovered = new InMemoryTaskRepository(journal());
+        Task added = recovered.save(new Task("Depois da recuperação", null));
+
+        assertEquals(2, recovered.count());
+        assertFalse(recovered.findById(task.getId()).isEmpty());
+
+        // O segmento rasgado deixa de ser o último: a próxima subida também precisa lê-lo
+        restart();
+        InMemoryTaskRepository restartedAgain = new InMemoryTaskRepository(journal());
+
+        assertEquals(2, restartedAgain.count());
+        assertFalse(restartedAgain.findById(task.getId()).isEmpty());
+        assertFalse(restartedAgain.findById(added.getId()).isEmpty());
+    }
+
+    private MappedTaskJournal journal() {
+        MappedTaskJournal journal = new MappedTaskJournal(directory, DataSize.ofKilobytes(8), Duration.ofHours(1));
+        journals.add(journal);
+        return journal;
+    }
+
+    private void restart() throws Exception {
+        for (MappedTaskJournal journal : journals) {
+            journal.destroy();
+        }
+        journals.clear();
+    }
+
+    private List<Path> files(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(prefix)).sorted().toList();
+        }
+    }
+
+    private long firstFreeOffset(Path segment, long limit) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(segment));
+        while (bytes.position() < limit) {
+            int length = bytes.getInt();
+            if (length == 0) {
+                return bytes.position() - Integer.BYTES;
+            }
+            bytes.position(bytes.position() + Integer.BYTES + length);
+        }
+        return limit;
+    }
+
+}
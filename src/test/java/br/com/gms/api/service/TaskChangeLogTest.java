@@ -0,0 +1,65 @@
+package br.com.gms.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.gms.api.model.Task;
+
+class TaskChangeLogTest {
+
+    @Test
+    void shouldReadChangesInPublicationOrder() {
+        TaskChangeLog log = new TaskChangeLog(8);
+        long start = log.head();
+        TaskChangedEvent created = TaskChangedEvent.created(new Task("Tarefa", LocalDateTime.now().plusDays(1)));
+        TaskChangedEvent deleted = TaskChangedEvent.deleted(created.id(), created.current());
+
+        log.append(created);
+        log.append(deleted);
+
+        assertSame(created, log.read(start).event());
+        assertSame(deleted, log.read(start + 1).event());
+        assertNull(log.read(start + 2));
+        assertEquals(start + 2, log.head());
+    }
+
+    @Test
+    void shouldExposeOverwrittenChangesAsLost() {
+        TaskChangeLog log = new TaskChangeLog(4);
+        long start = log.head();
+        for (int i = 0; i < 6; i++) {
+            log.append(TaskChangedEvent.created(new Task("Tarefa " + i, null)));
+        }
+
+        assertEquals(start + 2, log.oldest());
+        assertEquals(start + 4, log.read(start).sequence());
+        assertEquals(start + 5, log.read(start + 5).sequence());
+    }
+
+    @Test
+    void shouldWakeListenersOnAppend() {
+        TaskChangeLog log = new TaskChangeLog(4);
+        AtomicInteger wakeUps = new AtomicInteger();
+        Runnable listener = wakeUps::incrementAndGet;
+        log.addListener(listener);
+
+        log.append(TaskChangedEvent.created(new Task("Tarefa", null)));
+        log.removeListener(listener);
+        log.append(TaskChangedEvent.created(new Task("Tarefa", null)));
+
+        assertEquals(1, wakeUps.get());
+    }
+
+    @Test
+    void shouldRequirePowerOfTwoCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new TaskChangeLog(1000));
+    }
+
+}
@@ -0,0 +1,66 @@
+package br.com.gms.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import br.com.gms.api.exception.BusinessException;
+import br.com.gms.api.exception.TaskNotFoundException;
+import br.com.gms.api.model.Task;
+import br.com.gms.api.model.builder.TaskDTOTestBuilder;
+import br.com.gms.api.repository.InMemoryTaskRepository;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TaskServiceMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private InMemoryTaskRepository repository;
+    private TaskService service;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        repository = new InMemoryTaskRepository();
+        repository.bindTo(registry);
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(new TaskService(repository));
+        factory.addAspect(new TimedAspect(registry));
+        service = factory.getProxy();
+    }
+
+    @Test
+    void shouldTimeOperationsTaggedByOutcome() {
+        Task created = service.create(TaskDTOTestBuilder.aTask().buildCreateTask());
+        service.concludeTask(created.getId());
+        UUID randomUUID = UUID.randomUUID();
+
+        assertThrows(BusinessException.class, () -> service.concludeTask(created.getId()));
+        assertThrows(TaskNotFoundException.class, () -> service.findById(randomUUID));
+
+        assertEquals(1, timerCount("create", "none"));
+        assertEquals(1, timerCount("concludeTask", "none"));
+        assertEquals(1, timerCount("concludeTask", "BusinessException"));
+        assertEquals(1, timerCount("findById", "TaskNotFoundException"));
+    }
+
+    @Test
+    void shouldExposeStoreAndIndexSizes() {
+        service.create(TaskDTOTestBuilder.aTask().buildCreateTask());
+        service.create(TaskDTOTestBuilder.aTask().withoutScheduledDate().buildCreateTask());
+
+        assertEquals(2, registry.get("tasks.store.size").gauge().value());
+        assertEquals(1, registry.get("tasks.index.size").tag("index", "scheduledDate").gauge().value());
+        assertEquals(1, registry.get("tasks.index.size").tag("index", "unscheduled").gauge().value());
+    }
+
+    private long timerCount(String method, String exception) {
+        return registry.get("tasks.service").tag("method", method).tag("exception", exception).timer().count();
+    }
+
+}
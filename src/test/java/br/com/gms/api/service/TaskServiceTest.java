@@ -6,21 +6,38 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import br.com.gms.api.exception.BusinessException;
+import br.com.gms.api.exception.TaskConflictException;
 import br.com.gms.api.exception.TaskNotFoundException;
 import br.com.gms.api.model.Task;
 import br.com.gms.api.model.builder.TaskDTOTestBuilder;
 import br.com.gms.api.model.fixture.TaskTestFixture;
+import br.com.gms.api.model.valueobject.BatchItemResult;
+import br.com.gms.api.model.valueobject.BatchUpdateTaskDTO;
 import br.com.gms.api.model.valueobject.CreateTaskDTO;
+import br.com.gms.api.model.valueobject.TaskFilter;
+import br.com.gms.api.model.valueobject.TaskSearchPage;
 import br.com.gms.api.model.valueobject.UpdateTaskDTO;
+import br.com.gms.api.repository.InMemoryTaskRepository;
+import br.com.gms.api.service.search.TaskTextIndex;
+import br.com.gms.api.service.stats.TaskStatistics;
 
 class TaskServiceTest {
 
@@ -28,7 +45,7 @@ class TaskServiceTest {
 
     @BeforeEach
     void setUp() {
-        service = new TaskService();
+        service = new TaskService(new InMemoryTaskRepository());
     }
 
     @Test
@@ -60,8 +77,66 @@ class TaskServiceTest {
 
         service.update(created.getId(), taskDTO);
 
-        assertEquals(created.getDescription(), taskDTO.description());
-        assertEquals(created.getScheduledDate(), taskDTO.scheduledDate());
+        Task updated = service.findById(created.getId());
+        assertEquals(taskDTO.description(), updated.getDescription());
+        assertEquals(taskDTO.scheduledDate(), updated.getScheduledDate());
+    }
+
+    @Test
+    void shouldUpdateTaskWhenExpectedVersionMatches() {
+        Task created = service.create(TaskDTOTestBuilder.aTask().buildCreateTask());
+        UpdateTaskDTO taskDTO = TaskDTOTestBuilder.aTask().withDescription("Nova descrição").buildUpdateTask();
+
+        Task updated = service.update(created.getId(), created.getVersion(), taskDTO);
+
+        assertEquals(created.getVersion() + 1, updated.getVersion());
+        assertEquals("Nova descrição", service.findById(created.getId()).getDescription());
+    }
+
+    @Test
+    void shouldNotUpdateTaskWhenExpectedVersionIsStale() {
+        Task created = service.create(TaskDTOTestBuilder.aTask().buildCreateTask());
+        long staleVersion = created.getVersion();
+        service.concludeTask(created.getId());
+        UpdateTaskDTO taskDTO = TaskDTOTestBuilder.aTask().withDescription("Nova descrição").buildUpdateTask();
+
+        assertThrows(TaskConflictException.class, () -> service.update(created.getId(), staleVersion, taskDTO));
+
+        assertEquals(created.getDescription(), service.findById(created.getId()).getDescription());
+    }
+
+    @Test
+    void shouldConcludeTaskOnlyOnceUnderConcurrentCalls() throws Exception {
+        Task created = service.create(TaskDTOTestBuilder.aTask().buildCreateTask());
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger concluded = new AtomicInteger();
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        service.concludeTask(created.getId());
+                        concluded.incrementAndGet();
+                    } catch (BusinessException ex) {
+                        assertEquals("Tarefa já concluída", ex.getMessage());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, concluded.get());
+        assertEquals(created.getVersion() + 1, service.findById(created.getId()).getVersion());
     }
 
     @Test
@@ -98,6 +173,27 @@ class TaskServiceTest {
         assertEquals(5, tasks.size());
     }
 
+    @Test
+    void shouldWalkEveryTaskThroughPages() {
+        TaskTestFixture.createTasks(service, 7);
+
+        List<Task> first = service.findPage(null, 3);
+        List<Task> second = service.findPage(first.get(2).getId(), 3);
+        List<Task> last = service.findPage(second.get(2).getId(), 3);
+
+        assertEquals(3, first.size());
+        assertEquals(3, second.size());
+        assertEquals(1, last.size());
+        assertTrue(first.get(2).getId().compareTo(second.get(0).getId()) < 0);
+    }
+
+    @Test
+    void shouldNotReturnPageWithInvalidLimit() {
+        BusinessException exception = assertThrows(BusinessException.class, () -> service.findPage(null, 0));
+
+        assertEquals("Limite deve estar entre 1 e 1000", exception.getMessage());
+    }
+
     @Test
     void shouldReturnOneTaskAfterCreate() {
         Task created = service.create(TaskDTOTestBuilder.aTask().buildCreateTask());
@@ -143,6 +239,141 @@ class TaskServiceTest {
         assertEquals(3, byScheduledDate.size());
     }
 
+    @Test
+    void shouldMoveTaskBetweenScheduledDatesOnUpdate() {
+        LocalDateTime futureDate = LocalDateTime.now().plusDays(2);
+        Task created = service.create(TaskDTOTestBuilder.aTask().withScheduledDate(futureDate).buildCreateTask());
+
+        service.update(created.getId(),
+                TaskDTOTestBuilder.aTask().withScheduledDate(futureDate.plusDays(1)).buildUpdateTask());
+
+        assertTrue(service.findByScheduledDate(futureDate).isEmpty());
+        assertEquals(1, service.findByScheduledDate(futureDate.plusDays(1)).size());
+    }
+
+    @Test
+    void shouldReturnTasksByScheduledDateRange() {
+        LocalDateTime futureDate = LocalDateTime.now().plusDays(2);
+
+        List.of(
+                TaskDTOTestBuilder.aTask().withScheduledDate(futureDate.minusDays(1)).buildCreateTask(),
+                TaskDTOTestBuilder.aTask().withScheduledDate(futureDate).buildCreateTask(),
+                TaskDTOTestBuilder.aTask().withScheduledDate(futureDate.plusHours(1)).buildCreateTask(),
+                TaskDTOTestBuilder.aTask().withScheduledDate(futureDate.plusDays(1)).buildCreateTask(),
+                TaskDTOTestBuilder.aTask().withoutScheduledDate().buildCreateTask())
+                .forEach(service::create);
+
+        List<Task> byRange = service.findByScheduledDateBetween(futureDate, futureDate.plusDays(1));
+
+        assertEquals(2, byRange.size());
+        assertEquals(futureDate, byRange.get(0).getScheduledDate());
+    }
+
+    @Test
+    void shouldReturnTasksByScheduledDay() {
+        LocalDateTime futureDay = LocalDateTime.now().plusDays(3).toLocalDate().atTime(9, 0);
+
+        List.of(
+                TaskDTOTestBuilder.aTask().withScheduledDate(futureDay).buildCreateTask(),
+                TaskDTOTestBuilder.aTask().withScheduledDate(futureDay.plusHours(14)).buildCreateTask(),
+                TaskDTOTestBuilder.aTask().withScheduledDate(futureDay.plusDays(1)).buildCreateTask())
+                .forEach(service::create);
+
+        assertEquals(2, service.findByScheduledDay(futureDay.toLocalDate()).size());
+    }
+
+    @Test
+    void shouldNotSearchWithInvertedScheduledDateRange() {
+        LocalDateTime futureDate = LocalDateTime.now().plusDays(2);
+
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> service.findByScheduledDateBetween(futureDate, futureDate.minusDays(1)));
+
+        assertEquals("Data inicial deve ser anterior à data final", exception.getMessage());
+    }
+
+    @Test
+    void shouldSearchCombiningCriteriaSortAndLimit() {
+        LocalDateTime futureDate = LocalDateTime.now().plusDays(2);
+        Task first = service.create(new CreateTaskDTO("Estudar Spring", futureDate));
+        Task second = service.create(new CreateTaskDTO("estudar JPA", futureDate.plusHours(1)));
+        Task third = service.create(new CreateTaskDTO("Estudar testes", futureDate.plusHours(2)));
+        service.create(new CreateTaskDTO("Ler sobre Spring", futureDate.plusHours(3)));
+        service.create(new CreateTaskDTO("Estudar Kotlin", futureDate.plusDays(5)));
+        service.concludeTask(third.getId());
+
+        List<Task> found = service.search(new TaskFilter(false, futureDate, futureDate.plusDays(1), null, null,
+                "ESTUDAR", null, TaskFilter.SortField.SCHEDULED_DATE, TaskFilter.Direction.DESC, 2));
+
+        assertEquals(List.of(second.getId(), first.getId()), found.stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void shouldSearchDescriptionContainingTextIgnoringCase() {
+        service.create(new CreateTaskDTO("Revisar Spring Boot", null));
+        service.create(new CreateTaskDTO("Revisar JPA", null));
+
+        List<Task> found = service.search(new TaskFilter(null, null, null, null, null, null, "spring", null, null, null));
+
+        assertEquals(1, found.size());
+        assertEquals("Revisar Spring Boot", found.get(0).getDescription());
+    }
+
+    @Test
+    void shouldPlanSearchOnMostSelectiveIndex() {
+        InMemoryTaskRepository repository = spy(new InMemoryTaskRepository());
+        TaskService planned = new TaskService(repository, new TaskTextIndex(), new TaskStatistics());
+        LocalDateTime futureDate = LocalDateTime.now().plusDays(2);
+        Task concluded = planned.create(new CreateTaskDTO("Tarefa concluída", futureDate));
+        for (int i = 1; i < 20; i++) {
+            planned.create(new CreateTaskDTO("Tarefa " + i, futureDate.plusHours(i)));
+        }
+        planned.concludeTask(concluded.getId());
+
+        planned.search(new TaskFilter(true, futureDate, null, null, null, null, null, null, null, null));
+        verify(repository).findByCompleted(true);
+
+        planned.search(new TaskFilter(false, futureDate, futureDate.plusHours(2), null, null, null, null, null,
+                null, null));
+        verify(repository).findByScheduledDateBetween(futureDate, futureDate.plusHours(2));
+
+        planned.search(new TaskFilter(null, null, null, null, null, "Tarefa", null, null, null, null));
+        verify(repository).findAll();
+    }
+
+    @Test
+    void shouldNotSearchWithLimitOutOfBounds() {
+        TaskFilter filter = new TaskFilter(null, null, null, null, null, null, null, null, null,
+                TaskService.MAX_PAGE_SIZE + 1);
+
+        BusinessException exception = assertThrows(BusinessException.class, () -> service.search(filter));
+
+        assertEquals("Limite deve estar entre 1 e " + TaskService.MAX_PAGE_SIZE, exception.getMessage());
+    }
+
+    @Test
+    void shouldSearchTextOfCreatedAndUpdatedTasks() {
+        Task created = service.create(new CreateTaskDTO("Revisar contrato", null));
+        service.create(new CreateTaskDTO("Revisar orçamento", null));
+
+        service.update(created.getId(), new UpdateTaskDTO("Assinar contrato", null));
+
+        TaskSearchPage page = service.searchText("contrato", 0, 10);
+        assertEquals(1, page.total());
+        assertEquals("Assinar contrato", page.results().get(0).task().getDescription());
+        assertEquals(1, service.searchText("orcamento", 0, 10).total());
+
+        service.deleteById(created.getId());
+        assertEquals(0, service.searchText("contrato", 0, 10).total());
+    }
+
+    @Test
+    void shouldNotSearchTextWithBlankQuery() {
+        BusinessException exception = assertThrows(BusinessException.class, () -> service.searchText(" ", 0, 10));
+
+        assertEquals("Consulta obrigatória", exception.getMessage());
+    }
+
     @Test
     void shouldDeleteTask() {
         Task created = service.create(TaskDTOTestBuilder.aTask().buildCreateTask());
@@ -150,6 +381,92 @@ class TaskServiceTest {
         service.deleteById(created.getId());
 
         assertTrue(service.findAll().isEmpty());
+        assertTrue(service.findByScheduledDate(created.getScheduledDate()).isEmpty());
+    }
+
+    @Test
+    void shouldPublishTheVersionRemovedByTheDelete() {
+        List<TaskChangedEvent> events = new ArrayList<>();
+        LocalDateTime moved = LocalDateTime.now().plusDays(3).withNano(0);
+        InMemoryTaskRepository repository = new InMemoryTaskRepository() {
+
+            @Override
+            public Optional<Task> deleteById(UUID id) {
+                // Um reagendamento concorrente chega logo antes da remoção
+                Task current = findById(id).orElseThrow();
+                save(Task.restore(id, current.getDescription(), moved, current.getCreationDate(),
+                        current.getCompleted(), current.getVersion() + 1));
+                return super.deleteById(id);
+            }
+
+        };
+        TaskService deleting = new TaskService(repository, event -> events.add((TaskChangedEvent) event),
+                new TaskTextIndex(), new TaskStatistics());
+        Task created = deleting.create(TaskDTOTestBuilder.aTask().buildCreateTask());
+
+        deleting.deleteById(created.getId());
+
+        TaskChangedEvent deleted = events.get(events.size() - 1);
+        assertEquals(TaskChangedEvent.Type.DELETED, deleted.type());
+        assertEquals(moved, deleted.previous().getScheduledDate());
+        assertEquals(created.getVersion() + 1, deleted.previous().getVersion());
+    }
+
+    @Test
+    void shouldCreateValidTasksOfBatchAndReportInvalidOnes() {
+        List<CreateTaskDTO> batch = List.of(
+                TaskDTOTestBuilder.aTask().withDescription("Tarefa 1").buildCreateTask(),
+                TaskDTOTestBuilder.aTask().withDescription("").buildCreateTask(),
+                TaskDTOTestBuilder.aTask().withDescription("Tarefa 3").buildCreateTask());
+
+        List<BatchItemResult> results = service.createAll(batch);
+
+        assertEquals(2, service.findAll().size());
+        assertEquals(BatchItemResult.Status.OK, results.get(0).status());
+        assertEquals(BatchItemResult.Status.UNPROCESSABLE, results.get(1).status());
+        assertEquals("Descrição obrigatória", results.get(1).message());
+        assertEquals("Tarefa 3", service.findById(results.get(2).id()).getDescription());
+    }
+
+    @Test
+    void shouldConcludeBatchReportingMissingAndRepeatedTasks() {
+        Task first = service.create(TaskDTOTestBuilder.aTask().buildCreateTask());
+        Task second = service.create(TaskDTOTestBuilder.aTask().buildCreateTask());
+        UUID randomUUID = UUID.randomUUID();
+
+        List<BatchItemResult> results = service.concludeAll(
+                List.of(first.getId(), randomUUID, second.getId(), first.getId()));
+
+        assertTrue(service.findById(first.getId()).getCompleted());
+        assertTrue(service.findById(second.getId()).getCompleted());
+        assertEquals(BatchItemResult.Status.NOT_FOUND, results.get(1).status());
+        assertEquals(BatchItemResult.Status.OK, results.get(2).status());
+        assertEquals("Tarefa já concluída", results.get(3).message());
+    }
+
+    @Test
+    void shouldUpdateBatchOfTasks() {
+        Task created = service.create(TaskDTOTestBuilder.aTask().buildCreateTask());
+
+        List<BatchItemResult> results = service.updateAll(List.of(
+                new BatchUpdateTaskDTO(created.getId(), "Nova descrição", created.getScheduledDate()),
+                new BatchUpdateTaskDTO(null, "Sem id", null)));
+
+        assertEquals("Nova descrição", service.findById(created.getId()).getDescription());
+        assertEquals(BatchItemResult.Status.OK, results.get(0).status());
+        assertEquals(BatchItemResult.Status.UNPROCESSABLE, results.get(1).status());
+    }
+
+    @Test
+    void shouldDeleteBatchOfTasks() {
+        Task created = service.create(TaskDTOTestBuilder.aTask().buildCreateTask());
+        UUID randomUUID = UUID.randomUUID();
+
+        List<BatchItemResult> results = service.deleteAll(List.of(created.getId(), randomUUID));
+
+        assertTrue(service.findAll().isEmpty());
+        assertEquals(BatchItemResult.Status.OK, results.get(0).status());
+        assertEquals("Tarefa não encontrada. Id: " + randomUUID, results.get(1).message());
     }
 
     @Test
@@ -0,0 +1,152 @@
+package br.com.gms.api.service.due;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.com.gms.api.model.Task;
+import br.com.gms.api.model.valueobject.CreateTaskDTO;
+import br.com.gms.api.model.valueobject.UpdateTaskDTO;
+import br.com.gms.api.repository.InMemoryTaskRepository;
+import br.com.gms.api.service.TaskChangedEvent;
+import br.com.gms.api.service.TaskService;
+import br.com.gms.api.service.search.TaskTextIndex;
+import br.com.gms.api.service.stats.TaskStatistics;
+
+class TaskDueSchedulerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 9, 0);
+
+    private final ManualClock clock = new ManualClock(NOW.toInstant(ZoneOffset.UTC));
+    private final List<UUID> due = new ArrayList<>();
+    private TaskDueScheduler scheduler;
+    private TaskService service;
+    private InMemoryTaskRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryTaskRepository();
+        scheduler = new TaskDueScheduler(repository, event -> due.add(((TaskDueEvent) event).id()), clock,
+                Duration.ofSeconds(1));
+        service = new TaskService(repository, event -> scheduler.onTaskChanged((TaskChangedEvent) event),
+                new TaskTextIndex(), new TaskStatistics());
+    }
+
+    @Test
+    void shouldFireDueTasksInTimeOrder() {
+        Task later = service.create(new CreateTaskDTO("Depois", NOW.plusHours(2)));
+        Task sooner = service.create(new CreateTaskDTO("Antes", NOW.plusMinutes(10)));
+        service.create(new CreateTaskDTO("Sem data", null));
+
+        advance(Duration.ofMinutes(10));
+        assertEquals(List.of(sooner.getId()), due);
+
+        advance(Duration.ofHours(2));
+        assertEquals(List.of(sooner.getId(), later.getId()), due);
+        assertEquals(0, scheduler.pendingCount());
+    }
+
+    @Test
+    void shouldFireTasksSpreadAcrossEveryStripe() {
+        List<UUID> created = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            created.add(service.create(new CreateTaskDTO("Tarefa " + i, NOW.plusMinutes(1))).getId());
+        }
+        assertEquals(500, scheduler.pendingCount());
+
+        advance(Duration.ofMinutes(1));
+
+        assertEquals(500, due.size());
+        assertTrue(due.containsAll(created));
+        assertEquals(0, scheduler.pendingCount());
+    }
+
+    @Test
+    void shouldFollowRescheduleConclusionReopeningAndDeletion() {
+        Task moved = service.create(new CreateTaskDTO("Adiada", NOW.plusMinutes(5)));
+        Task concluded = service.create(new CreateTaskDTO("Concluída", NOW.plusMinutes(5)));
+        Task deleted = service.create(new CreateTaskDTO("Removida", NOW.plusMinutes(5)));
+
+        service.update(moved.getId(), new UpdateTaskDTO(null, NOW.plusMinutes(30)));
+        service.concludeTask(concluded.getId());
+        service.deleteById(deleted.getId());
+        assertFalse(scheduler.isScheduled(concluded.getId()));
+
+        advance(Duration.ofMinutes(5));
+        assertTrue(due.isEmpty());
+
+        service.reopenTask(concluded.getId());
+        assertEquals(List.of(concluded.getId()), due);
+
+        advance(Duration.ofMinutes(25));
+        assertEquals(List.of(concluded.getId(), moved.getId()), due);
+    }
+
+    @Test
+    void shouldIgnoreEventsDeliveredOutOfOrder() {
+        List<TaskChangedEvent> pending = new ArrayList<>();
+        TaskService delayed = new TaskService(repository,
+                event -> pending.add((TaskChangedEvent) event), new TaskTextIndex(), new TaskStatistics());
+        Task reopened = delayed.create(new CreateTaskDTO("Reaberta", NOW.plusMinutes(5)));
+        delayed.concludeTask(reopened.getId());
+        delayed.reopenTask(reopened.getId());
+        Task moved = delayed.create(new CreateTaskDTO("Adiada", NOW.plusMinutes(5)));
+        delayed.update(moved.getId(), new UpdateTaskDTO(null, NOW.plusMinutes(30)));
+
+        // A conclusão chega depois da reabertura, e a criação depois do reagendamento
+        for (int i : new int[] { 0, 2, 1, 4, 3 }) {
+            scheduler.onTaskChanged(pending.get(i));
+        }
+
+        assertTrue(scheduler.isScheduled(reopened.getId()));
+        advance(Duration.ofMinutes(5));
+        assertEquals(List.of(reopened.getId()), due);
+
+        advance(Duration.ofMinutes(25));
+        assertEquals(List.of(reopened.getId(), moved.getId()), due);
+    }
+
+    private void advance(Duration duration) {
+        clock.instant = clock.instant.plus(duration);
+        scheduler.advance();
+    }
+
+    private static final class ManualClock extends Clock {
+
+        private Instant instant;
+
+        private ManualClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+    }
+
+}
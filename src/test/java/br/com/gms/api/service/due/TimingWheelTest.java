@@ -0,0 +1,99 @@
+package br.com.gms.api.service.due;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+    @Test
+    void shouldFireEntriesInDeadlineOrderAcrossLevels() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 1_000);
+        wheel.schedule("nivel-2", 1_000 + 70_000);
+        wheel.schedule("nivel-0", 1_000 + 5);
+        wheel.schedule("nivel-3", 1_000 + 20_000_000);
+        wheel.schedule("nivel-1", 1_000 + 300);
+        List<String> fired = new ArrayList<>();
+
+        wheel.advanceTo(1_000 + 4, fired::add);
+        assertTrue(fired.isEmpty());
+
+        wheel.advanceTo(1_000 + 20_000_000, fired::add);
+        assertEquals(List.of("nivel-0", "nivel-1", "nivel-2", "nivel-3"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void shouldNeverFireBeforeDeadlineNorMissAny() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(1, 0);
+        Random random = new Random(42);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        for (int key = 0; key < 20_000; key++) {
+            long deadline = 1 + random.nextInt(300_000);
+            deadlines.put(key, deadline);
+            wheel.schedule(key, deadline);
+        }
+
+        Map<Integer, Long> firedAt = new HashMap<>();
+        long now = 0;
+        while (now < 300_000) {
+            long previous = now;
+            now = Math.min(300_000, now + 1 + random.nextInt(5_000));
+            long current = now;
+            wheel.advanceTo(current, key -> {
+                long deadline = deadlines.get(key);
+                assertTrue(deadline > previous && deadline <= current, "chave " + key + " fora da janela");
+                assertEquals(null, firedAt.put(key, current));
+            });
+        }
+
+        assertEquals(deadlines.size(), firedAt.size());
+    }
+
+    @Test
+    void shouldCancelAndRescheduleInConstantTime() {
+        TimingWheel<String> wheel = new TimingWheel<>(1_000, 0);
+        wheel.schedule("cancelada", 10_000);
+        wheel.schedule("adiada", 10_000);
+        List<String> fired = new ArrayList<>();
+
+        assertTrue(wheel.cancel("cancelada"));
+        wheel.schedule("adiada", 600_000);
+        wheel.advanceTo(10_000, fired::add);
+
+        assertTrue(fired.isEmpty());
+        assertTrue(wheel.contains("adiada"));
+        wheel.advanceTo(600_000, fired::add);
+        assertEquals(List.of("adiada"), fired);
+    }
+
+    @Test
+    void shouldRoundDeadlinesUpToTheNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(1_000, 0);
+        wheel.schedule("tarefa", 1_500);
+        List<String> fired = new ArrayList<>();
+
+        wheel.advanceTo(1_999, fired::add);
+        assertTrue(fired.isEmpty());
+
+        wheel.advanceTo(2_000, fired::add);
+        assertEquals(List.of("tarefa"), fired);
+    }
+
+    @Test
+    void shouldRejectDeadlinesAlreadyDue() {
+        TimingWheel<String> wheel = new TimingWheel<>(1_000, 5_000);
+
+        assertFalse(wheel.schedule("vencida", 4_000));
+        assertFalse(wheel.contains("vencida"));
+    }
+
+}
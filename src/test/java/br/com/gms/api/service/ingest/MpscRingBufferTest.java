@@ -0,0 +1,74 @@
+package br.com.gms.api.service.ingest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class MpscRingBufferTest {
+
+    @Test
+    void shouldRoundCapacityUpToPowerOfTwo() {
+        assertEquals(1, new MpscRingBuffer<>(1).capacity());
+        assertEquals(8, new MpscRingBuffer<>(5).capacity());
+        assertEquals(8, new MpscRingBuffer<>(8).capacity());
+    }
+
+    @Test
+    void shouldRejectOffersWhenFullUntilDrained() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+
+        List<Integer> batch = new ArrayList<>();
+        assertEquals(3, buffer.drainTo(batch, 3));
+        assertTrue(buffer.offer(4));
+
+        assertEquals(2, buffer.drainTo(batch, 10));
+        assertEquals(List.of(0, 1, 2, 3, 4), batch);
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void shouldKeepEachProducerOrderUnderContention() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 50_000;
+        MpscRingBuffer<long[]> buffer = new MpscRingBuffer<>(1024);
+        try (ExecutorService executor = Executors.newFixedThreadPool(producers)) {
+            for (int p = 0; p < producers; p++) {
+                long producer = p;
+                executor.submit(() -> {
+                    for (long i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(new long[] { producer, i })) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                });
+            }
+
+            long[] next = new long[producers];
+            List<long[]> batch = new ArrayList<>();
+            long received = 0;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (received < (long) producers * perProducer && System.nanoTime() < deadline) {
+                buffer.drainTo(batch, 256);
+                for (long[] element : batch) {
+                    assertEquals(next[(int) element[0]]++, element[1]);
+                }
+                received += batch.size();
+                batch.clear();
+            }
+            assertEquals((long) producers * perProducer, received);
+        }
+    }
+
+}
@@ -0,0 +1,172 @@
+package br.com.gms.api.service.ingest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.com.gms.api.exception.BusinessException;
+import br.com.gms.api.exception.TaskNotFoundException;
+import br.com.gms.api.exception.TaskQueueFullException;
+import br.com.gms.api.model.Task;
+import br.com.gms.api.model.valueobject.CreateTaskDTO;
+import br.com.gms.api.model.valueobject.UpdateTaskDTO;
+import br.com.gms.api.repository.InMemoryTaskRepository;
+import br.com.gms.api.service.TaskService;
+import br.com.gms.api.service.ingest.TaskCommandStatus.State;
+
+class TaskIngestPipelineTest {
+
+    private static final LocalDateTime TOMORROW = LocalDateTime.now().plusDays(1).withNano(0);
+
+    private InMemoryTaskRepository repository;
+    private TaskService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryTaskRepository();
+        service = new TaskService(repository);
+    }
+
+    @Test
+    void shouldApplyCreatesAndUpdatesInAcceptedOrder() {
+        TaskIngestPipeline pipeline = new TaskIngestPipeline(service, 16, 16, false);
+
+        TaskCommandStatus first = pipeline.create(new CreateTaskDTO("Primeira", TOMORROW));
+        pipeline.update(first.taskId(), new UpdateTaskDTO("Primeira revisada", TOMORROW.plusDays(1)));
+        TaskCommandStatus second = pipeline.create(new CreateTaskDTO("Segunda", TOMORROW));
+        assertFalse(repository.findById(first.taskId()).isPresent());
+
+        assertEquals(3, pipeline.drain());
+
+        Task updated = repository.findById(first.taskId()).orElseThrow();
+        assertEquals("Primeira revisada", updated.getDescription());
+        assertEquals(TOMORROW.plusDays(1), updated.getScheduledDate());
+        assertTrue(repository.findById(second.taskId()).isPresent());
+        assertEquals(3, pipeline.appliedCount());
+    }
+
+    @Test
+    void shouldValidateCreatesBeforeEnqueueing() {
+        TaskIngestPipeline pipeline = new TaskIngestPipeline(service, 16, 16, false);
+
+        assertThrows(BusinessException.class, () -> pipeline.create(new CreateTaskDTO(" ", TOMORROW)));
+
+        assertEquals(0, pipeline.queueSize());
+    }
+
+    @Test
+    void shouldRejectCommandsWhenQueueIsFull() {
+        TaskIngestPipeline pipeline = new TaskIngestPipeline(service, 2, 16, false);
+        pipeline.create(new CreateTaskDTO("Primeira", TOMORROW));
+        pipeline.create(new CreateTaskDTO("Segunda", TOMORROW));
+
+        assertThrows(TaskQueueFullException.class, () -> pipeline.create(new CreateTaskDTO("Terceira", TOMORROW)));
+        assertEquals(1, pipeline.rejectedCount());
+
+        pipeline.drain();
+        pipeline.create(new CreateTaskDTO("Terceira", TOMORROW));
+        assertEquals(1, pipeline.queueSize());
+    }
+
+    @Test
+    void shouldValidateUpdatesBeforeEnqueueing() {
+        TaskIngestPipeline pipeline = new TaskIngestPipeline(service, 16, 16, false);
+        Task stored = service.create(new CreateTaskDTO("Gravada", TOMORROW));
+
+        assertThrows(TaskNotFoundException.class,
+                () -> pipeline.update(UUID.randomUUID(), new UpdateTaskDTO("Sumida", TOMORROW)));
+        assertThrows(BusinessException.class, () -> pipeline.update(stored.getId(), new UpdateTaskDTO(" ", TOMORROW)));
+        assertThrows(BusinessException.class,
+                () -> pipeline.update(stored.getId(), new UpdateTaskDTO("Gravada", TOMORROW.minusYears(1))));
+
+        assertEquals(0, pipeline.queueSize());
+    }
+
+    @Test
+    void shouldReportTheOutcomeOfEachCommand() {
+        TaskIngestPipeline pipeline = new TaskIngestPipeline(service, 16, 16, false);
+        Task removed = service.create(new CreateTaskDTO("Removida", TOMORROW));
+
+        TaskCommandStatus created = pipeline.create(new CreateTaskDTO("Nova", TOMORROW));
+        TaskCommandStatus updated = pipeline.update(created.taskId(), new UpdateTaskDTO("Nova revisada", TOMORROW));
+        TaskCommandStatus lost = pipeline.update(removed.getId(), new UpdateTaskDTO("Tarde demais", TOMORROW));
+        service.deleteById(removed.getId());
+        assertEquals(State.PENDING, pipeline.status(created.command()).orElseThrow().state());
+
+        pipeline.drain();
+
+        assertEquals(State.APPLIED, pipeline.status(created.command()).orElseThrow().state());
+        assertEquals(State.APPLIED, pipeline.status(updated.command()).orElseThrow().state());
+        TaskCommandStatus outcome = pipeline.status(lost.command()).orElseThrow();
+        assertEquals(State.NOT_FOUND, outcome.state());
+        assertEquals(removed.getId(), outcome.taskId());
+        assertEquals(1, pipeline.failedCount());
+        assertTrue(pipeline.status(lost.command() + 1).isEmpty());
+    }
+
+    @Test
+    void shouldApplyEveryCommandAcceptedWhileClosing() throws Exception {
+        TaskIngestPipeline pipeline = new TaskIngestPipeline(service, 1 << 16, 64);
+        Set<UUID> accepted = ConcurrentHashMap.newKeySet();
+        ExecutorService producers = Executors.newFixedThreadPool(4);
+        try {
+            CountDownLatch started = new CountDownLatch(4);
+            for (int p = 0; p < 4; p++) {
+                producers.submit(() -> {
+                    started.countDown();
+                    for (int i = 0; i < 10_000; i++) {
+                        try {
+                            accepted.add(pipeline.create(new CreateTaskDTO("Tarefa " + i, TOMORROW)).taskId());
+                        } catch (TaskQueueFullException ex) {
+                            // Recusada na hora: o cliente sabe que não foi aceita
+                        }
+                    }
+                });
+            }
+            started.await();
+            pipeline.destroy();
+        } finally {
+            producers.shutdown();
+            assertTrue(producers.awaitTermination(30, TimeUnit.SECONDS));
+        }
+
+        assertEquals(accepted.size(), repository.count());
+        assertEquals(accepted.size(), pipeline.appliedCount());
+    }
+
+    @Test
+    void shouldDrainAcceptedCommandsOnWriterThread() throws InterruptedException {
+        TaskIngestPipeline pipeline = new TaskIngestPipeline(service, 1024, 64);
+        try {
+            for (int i = 0; i < 5_000; i++) {
+                while (true) {
+                    try {
+                        pipeline.create(new CreateTaskDTO("Tarefa " + i, TOMORROW));
+                        break;
+                    } catch (TaskQueueFullException ex) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }
+
+            assertTrue(pipeline.awaitDrained(30, TimeUnit.SECONDS));
+            assertEquals(5_000, repository.count());
+        } finally {
+            pipeline.destroy();
+        }
+    }
+
+}
@@ -0,0 +1,221 @@
+package br.com.gms.api.service.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.com.gms.api.exception.BusinessException;
+import br.com.gms.api.model.Task;
+import br.com.gms.api.service.TaskChangedEvent;
+import br.com.gms.api.service.TaskChangedEvent.Type;
+
+class TaskTextIndexTest {
+
+    private TaskTextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TaskTextIndex();
+    }
+
+    @Test
+    void shouldFoldAccentsAndCaseInDocumentsAndQueries() {
+        Task task = indexed("Revisão da configuração do AÇÚCAR");
+
+        assertEquals(List.of(task.getId()), ids(index.search("revisao configuracao", 0, 10)));
+        assertEquals(List.of(task.getId()), ids(index.search("Açucar", 0, 10)));
+    }
+
+    @Test
+    void shouldRequireEveryTermOfTheQuery() {
+        Task both = indexed("Estudar Spring Boot");
+        indexed("Estudar Kotlin");
+
+        assertEquals(List.of(both.getId()), ids(index.search("estudar spring", 0, 10)));
+        assertTrue(index.search("estudar python", 0, 10).matches().isEmpty());
+    }
+
+    @Test
+    void shouldExpandPrefixQueries() {
+        Task study = indexed("Estudar testes");
+        Task student = indexed("Reunião com estudantes");
+        indexed("Revisar testes");
+
+        TextSearchResult result = index.search("estud*", 0, 10);
+
+        assertEquals(2, result.total());
+        assertTrue(ids(result).containsAll(List.of(study.getId(), student.getId())));
+        assertEquals(List.of(study.getId()), ids(index.search("testes estud*", 0, 10)));
+    }
+
+    @Test
+    void shouldIgnorePortugueseStopWords() {
+        Task task = indexed("Lista de compras para o mercado");
+
+        assertEquals(List.of(task.getId()), ids(index.search("compras do mercado", 0, 10)));
+        assertTrue(index.search("de para", 0, 10).matches().isEmpty());
+    }
+
+    @Test
+    void shouldRankDocumentsWithRarerAndRepeatedTermsFirst() {
+        Task repeated = indexed("Deploy deploy da API");
+        indexed("Deploy do front");
+        indexed("Deploy do worker");
+
+        assertEquals(repeated.getId(), ids(index.search("deploy", 0, 1)).get(0));
+        assertEquals(repeated.getId(), ids(index.search("deploy api", 0, 10)).get(0));
+    }
+
+    @Test
+    void shouldPaginateRankedResults() {
+        for (int i = 0; i < 25; i++) {
+            indexed("Tarefa " + i);
+        }
+
+        TextSearchResult first = index.search("tarefa", 0, 10);
+        TextSearchResult last = index.search("tarefa", 20, 10);
+
+        assertEquals(25, first.total());
+        assertEquals(10, first.matches().size());
+        assertEquals(5, last.matches().size());
+        assertTrue(index.search("tarefa", 30, 10).matches().isEmpty());
+    }
+
+    @Test
+    void shouldReindexChangedDescriptionAndForgetDeletedTasks() {
+        Task previous = indexed("Estudar JPA");
+        Task current = previous.copy();
+        current.changeDescription("Estudar Hibernate");
+
+        index.onTaskChanged(TaskChangedEvent.changed(Type.UPDATED, previous, current));
+
+        assertTrue(index.search("jpa", 0, 10).matches().isEmpty());
+        assertEquals(List.of(current.getId()), ids(index.search("hibernate", 0, 10)));
+
+        index.onTaskChanged(TaskChangedEvent.deleted(current.getId(), current));
+
+        assertTrue(index.search("estudar", 0, 10).matches().isEmpty());
+        assertEquals(0, index.documentCount());
+    }
+
+    @Test
+    void shouldIgnoreEventsOlderThanTheIndexedVersion() {
+        Task previous = indexed("Estudar JPA");
+        Task first = previous.copy();
+        first.changeDescription("Estudar Hibernate");
+        Task second = first.copy();
+        second.changeDescription("Estudar Flyway");
+
+        index.onTaskChanged(TaskChangedEvent.changed(Type.UPDATED, first, second));
+        index.onTaskChanged(TaskChangedEvent.changed(Type.UPDATED, previous, first));
+
+        assertEquals(List.of(second.getId()), ids(index.search("flyway", 0, 10)));
+        assertTrue(index.search("hibernate", 0, 10).matches().isEmpty());
+    }
+
+    @Test
+    void shouldAdvanceVersionWithoutReindexingWhenDescriptionIsUnchanged() {
+        Task previous = indexed("Estudar JPA");
+        Task concluded = previous.copy();
+        concluded.conclude();
+        Task stale = previous.copy();
+        stale.changeDescription("Estudar Hibernate");
+
+        index.onTaskChanged(TaskChangedEvent.changed(Type.CONCLUDED, previous, concluded));
+        index.onTaskChanged(TaskChangedEvent.changed(Type.UPDATED, previous, stale));
+
+        assertEquals(List.of(previous.getId()), ids(index.search("jpa", 0, 10)));
+        assertTrue(index.search("hibernate", 0, 10).matches().isEmpty());
+    }
+
+    @Test
+    void shouldNotLetAVersionBumpSkipAnEarlierDescriptionChange() {
+        Task previous = indexed("Estudar JPA");
+        Task renamed = previous.copy();
+        renamed.changeDescription("Estudar Hibernate");
+        Task concluded = renamed.copy();
+        concluded.conclude();
+
+        // O avanço de versão chega antes da troca de descrição de que ele parte
+        index.onTaskChanged(TaskChangedEvent.changed(Type.CONCLUDED, renamed, concluded));
+        index.onTaskChanged(TaskChangedEvent.changed(Type.UPDATED, previous, renamed));
+
+        assertEquals(List.of(previous.getId()), ids(index.search("hibernate", 0, 10)));
+        assertTrue(index.search("jpa", 0, 10).matches().isEmpty());
+        assertEquals(1, index.documentCount());
+    }
+
+    @Test
+    void shouldApplyChangesEnqueuedByConcurrentWriters() throws Exception {
+        int writers = 4;
+        int perWriter = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perWriter; i++) {
+                        indexed("Tarefa comum " + i);
+                    }
+                }));
+            }
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 200; i++) {
+                    index.search("comum", 0, 10);
+                }
+            }));
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(writers * perWriter, index.documentCount());
+        assertEquals(writers * perWriter, index.search("comum", 0, 10).total());
+    }
+
+    @Test
+    void shouldKeepAnsweringAfterCompaction() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            tasks.add(indexed("Tarefa " + i + (i % 2 == 0 ? " par" : " impar")));
+        }
+        index.remove(tasks.subList(0, 9_000).stream().map(Task::getId).toList());
+
+        assertEquals(1_000, index.documentCount());
+        assertEquals(500, index.search("par", 0, 10).total());
+        assertEquals(List.of(tasks.get(9_999).getId()), ids(index.search("9999 impar", 0, 10)));
+    }
+
+    @Test
+    void shouldRejectPrefixWithTooManyExpansions() {
+        for (int i = 0; i <= TaskTextIndex.MAX_PREFIX_EXPANSIONS; i++) {
+            indexed("t" + i);
+        }
+
+        assertThrows(BusinessException.class, () -> index.search("t*", 0, 10));
+    }
+
+    private Task indexed(String description) {
+        Task task = new Task(description, null);
+        index.onTaskChanged(TaskChangedEvent.created(task));
+        return task;
+    }
+
+    private static List<UUID> ids(TextSearchResult result) {
+        return result.matches().stream().map(TextSearchResult.Match::id).toList();
+    }
+
+}
@@ -0,0 +1,150 @@
+package br.com.gms.api.service.stats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.com.gms.api.model.Task;
+import br.com.gms.api.model.valueobject.CreateTaskDTO;
+import br.com.gms.api.model.valueobject.TaskStats;
+import br.com.gms.api.model.valueobject.UpdateTaskDTO;
+import br.com.gms.api.repository.InMemoryTaskRepository;
+import br.com.gms.api.service.TaskService;
+import br.com.gms.api.service.due.TaskDueEvent;
+import br.com.gms.api.service.search.TaskTextIndex;
+
+class TaskStatisticsTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(10);
+
+    private final ManualClock clock = new ManualClock(Instant.now());
+    private InMemoryTaskRepository repository;
+    private TaskStatistics statistics;
+    private TaskService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryTaskRepository();
+        statistics = new TaskStatistics(repository, clock);
+        service = new TaskService(repository, new TaskTextIndex(), statistics);
+    }
+
+    @Test
+    void shouldKeepCountsAndHistogramsUpToDate() {
+        Task morning = service.create(new CreateTaskDTO("Manhã", DAY.atTime(10, 15)));
+        Task sameHour = service.create(new CreateTaskDTO("Mesma hora", DAY.atTime(10, 45)));
+        Task nextDay = service.create(new CreateTaskDTO("Dia seguinte", DAY.plusDays(1).atTime(8, 0)));
+        service.create(new CreateTaskDTO("Sem data", null));
+
+        service.concludeTask(morning.getId());
+        service.update(sameHour.getId(), new UpdateTaskDTO("Mesma hora", DAY.plusDays(1).atTime(9, 30)));
+        service.deleteById(nextDay.getId());
+
+        TaskStats stats = statistics.snapshot(null, null);
+        assertEquals(3, stats.total());
+        assertEquals(2, stats.open());
+        assertEquals(1, stats.completed());
+        assertEquals(1, stats.unscheduled());
+        assertEquals(Map.of(DAY, 1L, DAY.plusDays(1), 1L), stats.perDay());
+        assertEquals(Map.of(DAY.atTime(10, 0), 1L, DAY.plusDays(1).atTime(9, 0), 1L), stats.perHour());
+    }
+
+    @Test
+    void shouldRestrictHistogramsToRequestedDays() {
+        service.create(new CreateTaskDTO("Primeiro", DAY.atTime(10, 0)));
+        service.create(new CreateTaskDTO("Segundo", DAY.plusDays(1).atTime(10, 0)));
+        service.create(new CreateTaskDTO("Terceiro", DAY.plusDays(2).atTime(10, 0)));
+
+        TaskStats stats = statistics.snapshot(DAY.plusDays(1), DAY.plusDays(2));
+
+        assertEquals(3, stats.total());
+        assertEquals(Map.of(DAY.plusDays(1), 1L), stats.perDay());
+        assertEquals(Map.of(DAY.plusDays(1).atTime(10, 0), 1L), stats.perHour());
+    }
+
+    @Test
+    void shouldCountOverdueTasksAsDeadlinesPass() {
+        Task task = service.create(new CreateTaskDTO("Entregar relatório", LocalDateTime.now(clock).plusHours(1)));
+        assertEquals(0, statistics.overdueCount());
+
+        clock.advance(Duration.ofHours(2));
+        statistics.onTaskDue(new TaskDueEvent(task.getId(), repository.findById(task.getId()).orElseThrow()));
+        assertEquals(1, statistics.overdueCount());
+
+        service.concludeTask(task.getId());
+        assertEquals(0, statistics.overdueCount());
+
+        service.reopenTask(task.getId());
+        assertEquals(1, statistics.overdueCount());
+
+        service.deleteById(task.getId());
+        assertEquals(0, statistics.overdueCount());
+    }
+
+    @Test
+    void shouldIgnoreLateEventsOfSupersededVersions() {
+        Task created = service.create(new CreateTaskDTO("Tarefa", LocalDateTime.now(clock).plusHours(1)));
+        clock.advance(Duration.ofHours(2));
+        Task late = service.update(created.getId(), new UpdateTaskDTO("Tarefa atrasada", created.getScheduledDate()));
+        assertEquals(1, statistics.overdueCount());
+        service.concludeTask(created.getId());
+
+        statistics.onTaskDue(new TaskDueEvent(late.getId(), late));
+
+        assertEquals(0, statistics.overdueCount());
+    }
+
+    @Test
+    void shouldLoadExistingTasksOnStartup() {
+        LocalDateTime past = LocalDateTime.now(clock).minusDays(1);
+        repository.save(Task.restore(UUID.randomUUID(), "Vencida", past, past.minusDays(1), false, 0));
+        repository.save(Task.restore(UUID.randomUUID(), "Concluída", past, past.minusDays(1), true, 1));
+
+        TaskStats stats = new TaskStatistics(repository, clock).snapshot(null, null);
+
+        assertEquals(2, stats.total());
+        assertEquals(1, stats.completed());
+        assertEquals(1, stats.overdue());
+        assertEquals(Map.of(past.toLocalDate(), 2L), stats.perDay());
+    }
+
+    private static final class ManualClock extends Clock {
+
+        private Instant instant;
+
+        private ManualClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+    }
+
+}